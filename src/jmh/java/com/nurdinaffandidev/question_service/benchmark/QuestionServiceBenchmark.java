@@ -0,0 +1,112 @@
+package com.nurdinaffandidev.question_service.benchmark;
+
+import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the QuestionService hot paths against synthetic catalogs.
+ *
+ * The {@code engine} parameter compares the repository-backed code paths ({@code repository}:
+ * catalog, answer key and in-memory sampling disabled) with the in-memory engines ({@code memory}).
+ * Run with the GC profiler (the default {@code jmh.args}) to also get allocation rates:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="QuestionServiceBenchmark -p catalogSize=10000 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class QuestionServiceBenchmark {
+
+    private static final int QUIZ_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"repository", "memory"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+
+    private QuestionService questionService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        boolean memory = "memory".equals(engine);
+        context = SyntheticCatalog.start(catalogSize, Map.of(
+                "question.catalog.enabled", memory,
+                "question.answer-key.enabled", memory,
+                "question.sampling.engine", memory ? "memory" : "sql"));
+        questionService = context.getBean(QuestionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Integer> generateQuestionIds() {
+        return questionService.generateQuestionIds(randomCategory(), QUIZ_SIZE);
+    }
+
+    @Benchmark
+    public Object getWrapperQuestions() {
+        return questionService.getWrapperQuestions(randomIds());
+    }
+
+    @Benchmark
+    public Integer getScore() {
+        List<QuizResponse> responses = new ArrayList<>(QUIZ_SIZE);
+        for (Integer id : randomIds()) {
+            QuizResponse response = new QuizResponse();
+            response.setQuestionId(id);
+            response.setResponse(SyntheticCatalog.correctAnswer(id));
+            responses.add(response);
+        }
+        return questionService.getScore(responses);
+    }
+
+    @Benchmark
+    public Object getQuestionsByCategory() {
+        return questionService.getQuestionsByCategory(randomCategory());
+    }
+
+    private String randomCategory() {
+        return SyntheticCatalog.category(ThreadLocalRandom.current().nextInt(SyntheticCatalog.CATEGORIES));
+    }
+
+    private List<Integer> randomIds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Integer> ids = new ArrayList<>(QUIZ_SIZE);
+        for (int i = 0; i < QUIZ_SIZE; i++) {
+            ids.add(1 + random.nextInt(catalogSize));
+        }
+        return ids;
+    }
+}
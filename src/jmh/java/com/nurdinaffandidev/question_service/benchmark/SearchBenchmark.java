@@ -0,0 +1,88 @@
+package com.nurdinaffandidev.question_service.benchmark;
+
+import com.nurdinaffandidev.question_service.catalog.QuestionSearchIndex;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search latency with the in-memory inverted index ({@code engine=index}) against the
+ * SQL LIKE scan it replaces ({@code engine=like}).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="SearchBenchmark -p catalogSize=100000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class SearchBenchmark {
+
+    private static final int RESULTS = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"like", "index"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+
+    private QuestionService questionService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        boolean index = "index".equals(engine);
+        context = SyntheticCatalog.start(catalogSize, Map.of("question.search.enabled", index));
+        if (index) {
+            context.getBean(QuestionSearchIndex.class).reload(); // Built at startup, before the rows were seeded
+        }
+        questionService = context.getBean(QuestionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * A phrase from the synthetic titles, e.g. "topic 123", matching about 0.1% of the catalog.
+     */
+    @Benchmark
+    public List<Question> search() {
+        return questionService.searchQuestions(randomTopic(), null, null, RESULTS);
+    }
+
+    @Benchmark
+    public List<Question> searchInCategoryAndDifficulty() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String category = SyntheticCatalog.category(random.nextInt(SyntheticCatalog.CATEGORIES));
+        String difficulty = SyntheticCatalog.DIFFICULTIES[random.nextInt(SyntheticCatalog.DIFFICULTIES.length)];
+        return questionService.searchQuestions(randomTopic(), category, difficulty, RESULTS);
+    }
+
+    private static String randomTopic() {
+        return "topic " + ThreadLocalRandom.current().nextInt(997);
+    }
+}
@@ -0,0 +1,94 @@
+package com.nurdinaffandidev.question_service.benchmark;
+
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from application start until the catalog is loaded and the context is ready, with the
+ * catalog filled from the database ({@code start=cold}) or from the binary snapshot file
+ * ({@code start=snapshot}).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="StartupBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class StartupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"cold", "snapshot"})
+    public String start;
+
+    private String databaseUrl;
+
+    private Path snapshotFile;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void seedDatabase() throws IOException {
+        databaseUrl = SyntheticCatalog.newDatabaseUrl();
+        snapshotFile = Files.createTempDirectory("startup-benchmark").resolve("catalog.bin");
+        Map<String, Object> properties = snapshotProperties(true);
+
+        // Seeds the database; closing the context writes the snapshot file the warm starts read
+        SyntheticCatalog.start(databaseUrl, catalogSize, properties).close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshotFile() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(snapshotFile.getParent());
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() {
+        context.close();
+        System.gc(); // Keep the previous context's garbage out of the next measurement
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startApplication() {
+        boolean snapshot = "snapshot".equals(start);
+        context = SyntheticCatalog.open(databaseUrl, snapshotProperties(snapshot));
+
+        String loadedFrom = context.getBean(QuestionCatalog.class).stats().getLoadedFrom();
+        if (!loadedFrom.equals(snapshot ? "snapshot-file" : "database")) {
+            throw new IllegalStateException("Catalog was loaded from " + loadedFrom);
+        }
+        return context;
+    }
+
+    private Map<String, Object> snapshotProperties(boolean enabled) {
+        return Map.of(
+                "question.snapshot.enabled", enabled,
+                "question.snapshot.path", snapshotFile.toString(),
+                "question.snapshot.write-delay-ms", 60_000);
+    }
+}
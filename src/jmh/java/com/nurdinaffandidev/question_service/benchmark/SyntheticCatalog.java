@@ -0,0 +1,141 @@
+package com.nurdinaffandidev.question_service.benchmark;
+
+import com.nurdinaffandidev.question_service.QuestionServiceApplication;
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against a private in-memory H2 database
+ * and seeds it with a synthetic question catalog.
+ */
+final class SyntheticCatalog {
+
+    static final int CATEGORIES = 100;
+
+    static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * @param index category index, 0 to {@link #CATEGORIES} - 1
+     * @return the synthetic category name
+     */
+    static String category(int index) {
+        return "Category-" + index;
+    }
+
+    /**
+     * The correct answer of synthetic question {@code id} (ids start at 1).
+     * @param id question id
+     * @return the correct answer text
+     */
+    static String correctAnswer(int id) {
+        return "Option " + (id % 4 + 1) + " of question " + id;
+    }
+
+    /**
+     * Starts an application context and seeds {@code size} questions.
+     *
+     * @param size number of questions to insert
+     * @param properties extra application properties, e.g. engine switches
+     * @return the running context
+     */
+    static ConfigurableApplicationContext start(int size, Map<String, Object> properties) {
+        return start(newDatabaseUrl(), size, properties);
+    }
+
+    /**
+     * Starts an application context against {@code databaseUrl} and seeds {@code size} questions.
+     *
+     * @param databaseUrl JDBC URL of an empty database
+     * @param size number of questions to insert
+     * @param properties extra application properties, e.g. engine switches
+     * @return the running context
+     */
+    static ConfigurableApplicationContext start(String databaseUrl, int size, Map<String, Object> properties) {
+        ConfigurableApplicationContext context = open(databaseUrl, properties);
+        seed(context.getBean(JdbcTemplate.class), size);
+
+        // Indexes are loaded at startup, before the rows above existed
+        QuestionCatalog questionCatalog = context.getBean(QuestionCatalog.class);
+        if (questionCatalog.isEnabled()) {
+            questionCatalog.reload();
+        }
+        AnswerKeyIndex answerKeyIndex = context.getBean(AnswerKeyIndex.class);
+        if (answerKeyIndex.isEnabled()) {
+            answerKeyIndex.reload();
+        }
+        return context;
+    }
+
+    /**
+     * @return the URL of a new private in-memory database that outlives the contexts using it
+     */
+    static String newDatabaseUrl() {
+        return "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    /**
+     * Starts an application context against an existing database without seeding it.
+     *
+     * @param databaseUrl JDBC URL of the database
+     * @param properties extra application properties, e.g. engine switches
+     * @return the running context
+     */
+    static ConfigurableApplicationContext open(String databaseUrl, Map<String, Object> properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("spring.datasource.url", databaseUrl);
+        merged.put("spring.sql.init.mode", "never");
+        merged.put("spring.jpa.show-sql", false);
+        merged.put("eureka.client.enabled", false);
+        merged.put("question.snapshot.enabled", false);
+        merged.put("logging.level.root", "WARN");
+        // DevTools shuts in-memory databases down when a context closes; keep them for the next context
+        merged.put("spring.autoconfigure.exclude",
+                "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+        merged.putAll(properties);
+
+        // Passed as command-line arguments so they take precedence over application.properties
+        List<String> args = new ArrayList<>(merged.size());
+        merged.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return new SpringApplicationBuilder(QuestionServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int size) {
+        String sql = "INSERT INTO question (category, difficulty, option1, option2, option3, option4, question_title, correct_answer) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int id = 1; id <= size; id++) {
+            batch.add(new Object[]{
+                    category(id % CATEGORIES),
+                    DIFFICULTIES[id % DIFFICULTIES.length],
+                    "Option 1 of question " + id,
+                    "Option 2 of question " + id,
+                    "Option 3 of question " + id,
+                    "Option 4 of question " + id,
+                    "Synthetic question number " + id + " about topic " + (id % 997),
+                    correctAnswer(id)
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || id == size) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
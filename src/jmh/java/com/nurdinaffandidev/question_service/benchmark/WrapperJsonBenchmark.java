@@ -0,0 +1,69 @@
+package com.nurdinaffandidev.question_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.catalog.WrapperJsonCache;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a retrieve-wrapper-questions response body by Jackson ({@code cache=false}) and
+ * from cached per-question fragments ({@code cache=true}). Wrappers are rebuilt for every call, as
+ * the service does.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="WrapperJsonBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WrapperJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int quizSize;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private WrapperJsonCache wrapperJsonCache;
+
+    private String[][] questions;
+
+    @Setup
+    public void createQuestions() {
+        wrapperJsonCache = new WrapperJsonCache(new ObjectMapper(), new SimpleMeterRegistry(), cache, 100_000);
+        questions = new String[quizSize][];
+        for (int i = 0; i < quizSize; i++) {
+            questions[i] = new String[]{"Option A " + i, "Option B " + i, "Option C " + i, "Option D " + i,
+                    "Question " + i + " about topic " + (i % 97) + ": which of the following options is correct?"};
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        List<QuestionWrapper> wrappers = new ArrayList<>(quizSize);
+        for (int i = 0; i < quizSize; i++) {
+            String[] q = questions[i];
+            wrappers.add(new QuestionWrapper(i + 1, q[0], q[1], q[2], q[3], q[4]));
+        }
+        return wrapperJsonCache.toJsonArray(wrappers);
+    }
+}
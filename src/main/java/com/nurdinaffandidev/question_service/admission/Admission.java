@@ -0,0 +1,20 @@
+package com.nurdinaffandidev.question_service.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as subject to the concurrency limit of an {@link EndpointGroup}.
+ * Methods without this annotation are not limited.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    /**
+     * @return the endpoint group whose limit applies
+     */
+    EndpointGroup value();
+}
@@ -0,0 +1,55 @@
+package com.nurdinaffandidev.question_service.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Applies the {@link AdmissionLimiter} to controller methods annotated with {@link Admission}.
+ *
+ * The permit is held until the request completes. For streaming responses that means until the
+ * async dispatch that finishes the body, so long exports keep counting against their group.
+ */
+@Component
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    // Request attribute holding the group whose permit this request holds
+    private static final String ADMITTED_GROUP = AdmissionInterceptor.class.getName() + ".group";
+
+    private final AdmissionLimiter admissionLimiter;
+
+    // Constructor-based dependency injection for the limiter
+    @Autowired
+    public AdmissionInterceptor(AdmissionLimiter admissionLimiter) {
+        this.admissionLimiter = admissionLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!admissionLimiter.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)
+                || request.getAttribute(ADMITTED_GROUP) != null) {
+            return true; // Not limited, or already admitted on the initial dispatch of an async request
+        }
+        Admission admission = handlerMethod.getMethodAnnotation(Admission.class);
+        if (admission != null) {
+            admissionLimiter.acquire(admission.value());
+            request.setAttribute(ADMITTED_GROUP, admission.value());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted()) {
+            return; // Released when the async dispatch completes
+        }
+        Object group = request.getAttribute(ADMITTED_GROUP);
+        if (group != null) {
+            request.removeAttribute(ADMITTED_GROUP);
+            admissionLimiter.release((EndpointGroup) group);
+        }
+    }
+}
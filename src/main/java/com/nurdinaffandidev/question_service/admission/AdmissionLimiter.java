@@ -0,0 +1,149 @@
+package com.nurdinaffandidev.question_service.admission;
+
+import com.nurdinaffandidev.question_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-endpoint-group concurrency limits.
+ *
+ * Each {@link EndpointGroup} has a semaphore of {@code max-concurrent} permits. A request that finds
+ * no free permit waits up to {@code question.admission.max-wait-ms} in a queue of at most
+ * {@code max-queue} requests; if the queue is full or the wait times out, it is rejected with a
+ * {@link ServiceOverloadedException} instead of holding a request thread while the database catches up.
+ *
+ * Enabled with {@code question.admission.enabled}.
+ */
+@Component
+public class AdmissionLimiter {
+
+    /**
+     * Semaphore, queue bound and rejection counter of one endpoint group.
+     */
+    private static final class Limit {
+
+        private final int maxConcurrent;
+
+        private final int maxQueue;
+
+        private final Semaphore permits;
+
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private final Counter rejected;
+
+        private Limit(int maxConcurrent, int maxQueue, Counter rejected) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.permits = new Semaphore(maxConcurrent);
+            this.rejected = rejected;
+        }
+    }
+
+    private final boolean enabled;
+
+    private final long maxWaitMillis;
+
+    private final long retryAfterSeconds;
+
+    private final Map<EndpointGroup, Limit> limits = new EnumMap<>(EndpointGroup.class);
+
+    /**
+     * @param environment source of the per-group {@code max-concurrent} and {@code max-queue} limits
+     * @param meterRegistry registry for in-flight, queue depth and rejection metrics
+     * @param enabled whether requests are limited
+     * @param maxWaitMillis how long a request may queue for a permit before it is rejected
+     * @param retryAfterSeconds Retry-After value sent with rejections
+     */
+    @Autowired
+    public AdmissionLimiter(Environment environment, MeterRegistry meterRegistry,
+                            @Value("${question.admission.enabled:true}") boolean enabled,
+                            @Value("${question.admission.max-wait-ms:50}") long maxWaitMillis,
+                            @Value("${question.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "question.admission." + group.tag() + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, group.getDefaultMaxConcurrent());
+            int maxQueue = environment.getProperty(prefix + "max-queue", Integer.class, group.getDefaultMaxQueue());
+            Counter rejected = Counter.builder("question.admission.rejected")
+                    .description("Requests shed because their endpoint group was at its limit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            Limit limit = new Limit(Math.max(1, maxConcurrent), Math.max(0, maxQueue), rejected);
+            limits.put(group, limit);
+
+            Gauge.builder("question.admission.in-flight", limit, l -> l.maxConcurrent - l.permits.availablePermits())
+                    .description("Requests currently holding a permit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            Gauge.builder("question.admission.queued", limit, l -> l.waiting.get())
+                    .description("Requests waiting for a permit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            Gauge.builder("question.admission.limit", limit, l -> l.maxConcurrent)
+                    .description("Maximum concurrent requests")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return whether requests are limited
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a permit for the group, queueing briefly if none is free.
+     * Every successful call must be paired with {@link #release(EndpointGroup)}.
+     *
+     * @param group the endpoint group of the request
+     * @throws ServiceOverloadedException if no permit became free in time
+     */
+    public void acquire(EndpointGroup group) {
+        Limit limit = limits.get(group);
+        if (limit.permits.tryAcquire()) {
+            return;
+        }
+        if (limit.waiting.incrementAndGet() <= limit.maxQueue) {
+            try {
+                if (limit.permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                limit.waiting.decrementAndGet();
+            }
+        } else {
+            limit.waiting.decrementAndGet();
+        }
+        limit.rejected.increment();
+        throw new ServiceOverloadedException(
+                "Too many concurrent " + group.tag() + " requests, please retry later.", retryAfterSeconds);
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire(EndpointGroup)}.
+     *
+     * @param group the endpoint group of the request
+     */
+    public void release(EndpointGroup group) {
+        limits.get(group).permits.release();
+    }
+}
@@ -0,0 +1,47 @@
+package com.nurdinaffandidev.question_service.admission;
+
+/**
+ * Groups of endpoints that share one concurrency limit, so a spike on one kind of call
+ * (e.g. quiz generation at exam start) cannot take every request thread from the others.
+ *
+ * Limits are configured with {@code question.admission.<group>.max-concurrent} and
+ * {@code question.admission.<group>.max-queue}; the values below are the defaults.
+ */
+public enum EndpointGroup {
+
+    /** Lookups and listings. */
+    READ(64, 128),
+
+    /** Random quiz generation. */
+    GENERATE(32, 64),
+
+    /** Answer checking. */
+    SCORE(32, 64),
+
+    /** Adds, deletes and imports. */
+    WRITE(8, 16);
+
+    private final int defaultMaxConcurrent;
+
+    private final int defaultMaxQueue;
+
+    EndpointGroup(int defaultMaxConcurrent, int defaultMaxQueue) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueue = defaultMaxQueue;
+    }
+
+    /**
+     * @return the group name used in property keys and metric tags
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    int getDefaultMaxQueue() {
+        return defaultMaxQueue;
+    }
+}
@@ -0,0 +1,385 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.AnswerKey;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact answer key used to score quiz submissions without touching the database.
+ *
+ * Question ids map to small int codes in a primitive open-addressing table; each code points into a
+ * dictionary of distinct correct answers, so repeated answers ("true", "5", ...) are stored once.
+ * The table is immutable and replaced copy-on-write on add/delete, so scoring never locks and
+ * allocates nothing per response.
+ *
+ * When the question catalog is enabled the index is built from it, so a catalog filled from the
+ * snapshot file fills the answer key too; otherwise it is loaded with an id/answer projection.
+ *
+ * Enabled with {@code question.answer-key.enabled}.
+ */
+@Component
+@Order(1)
+public class AnswerKeyIndex implements SmartInitializingSingleton, QuestionChangeListener {
+
+    /** Result of {@link #check(int, String)} when the response matches the correct answer. */
+    public static final int CORRECT = 1;
+
+    /** Result of {@link #check(int, String)} when the response does not match the correct answer. */
+    public static final int INCORRECT = 0;
+
+    /** Result of {@link #check(int, String)} when the question is not in the index. */
+    public static final int UNKNOWN = -1;
+
+    private final QuestionRepository questionRepository;
+
+    private final QuestionCatalog questionCatalog;
+
+    private final boolean enabled;
+
+    private volatile Table table = Table.EMPTY;
+
+    /**
+     * @param questionRepository repository used to load the id/answer projection
+     * @param questionCatalog catalog the index is built from when enabled
+     * @param enabled whether scoring uses the index
+     */
+    @Autowired
+    public AnswerKeyIndex(QuestionRepository questionRepository, QuestionCatalog questionCatalog,
+                          @Value("${question.answer-key.enabled:true}") boolean enabled) {
+        this.questionRepository = questionRepository;
+        this.questionCatalog = questionCatalog;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            questionCatalog.loadIfNeeded();
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the question catalog, or from an {@code id, correctAnswer} projection
+     * of all questions if the catalog is disabled.
+     */
+    public synchronized void reload() {
+        if (questionCatalog.isEnabled()) {
+            Collection<Question> questions = questionCatalog.snapshot().questions();
+            Table.Builder builder = new Table.Builder(questions.size());
+            for (Question question : questions) {
+                builder.put(question.getId(), question.getCorrectAnswer());
+            }
+            table = builder.build();
+            return;
+        }
+        List<AnswerKey> answerKeys = questionRepository.findAllAnswerKeys();
+        Table.Builder builder = new Table.Builder(answerKeys.size());
+        for (AnswerKey answerKey : answerKeys) {
+            builder.put(answerKey.getId(), answerKey.getCorrectAnswer());
+        }
+        table = builder.build();
+    }
+
+    /**
+     * @return whether scoring uses the index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return number of questions in the index
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * @param questionId question id
+     * @return whether the question is in the index
+     */
+    public boolean contains(int questionId) {
+        return table.codeOf(questionId) != Table.MISSING;
+    }
+
+    /**
+     * Checks a response against the correct answer of a question.
+     *
+     * @param questionId the question being answered
+     * @param response the submitted answer
+     * @return {@link #CORRECT}, {@link #INCORRECT} or {@link #UNKNOWN} if the question is not indexed
+     */
+    public int check(int questionId, String response) {
+        return table.check(questionId, response);
+    }
+
+    /**
+     * Captures the current answer key, so that a batch is scored against one consistent version
+     * even while questions are added or deleted.
+     *
+     * @return the answer key as it is now
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(table);
+    }
+
+    @Override
+    public synchronized void onQuestionSaved(Question question) {
+        if (enabled) {
+            table = table.with(question.getId(), question.getCorrectAnswer());
+        }
+    }
+
+    @Override
+    public synchronized void onQuestionDeleted(Question question) {
+        if (enabled) {
+            table = table.without(question.getId());
+        }
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Unchanging view of the answer key, taken with {@link #snapshot()}.
+     */
+    public static final class Snapshot {
+
+        private final Table table;
+
+        private Snapshot(Table table) {
+            this.table = table;
+        }
+
+        /**
+         * @param questionId question id
+         * @return whether the question was in the index when the snapshot was taken
+         */
+        public boolean contains(int questionId) {
+            return table.codeOf(questionId) != Table.MISSING;
+        }
+
+        /**
+         * @param questionId the question being answered
+         * @param response the submitted answer
+         * @return {@link #CORRECT}, {@link #INCORRECT} or {@link #UNKNOWN} if the question is not in the snapshot
+         */
+        public int check(int questionId, String response) {
+            return table.check(questionId, response);
+        }
+    }
+
+    /**
+     * Immutable open-addressing (linear probing) map from question id to answer code.
+     */
+    static final class Table {
+
+        static final int MISSING = -1;
+
+        private static final int EMPTY_KEY = Integer.MIN_VALUE;
+
+        static final Table EMPTY = new Builder(0).build();
+
+        private final int[] keys;
+
+        private final int[] codes;
+
+        private final int mask;
+
+        private final int size;
+
+        /** Distinct correct answers; codes index into this array. May contain unused entries after deletes. */
+        private final String[] dictionary;
+
+        /** Reverse dictionary, only used when patching the table. */
+        private final Map<String, Integer> dictionaryCodes;
+
+        private Table(int[] keys, int[] codes, int size, String[] dictionary, Map<String, Integer> dictionaryCodes) {
+            this.keys = keys;
+            this.codes = codes;
+            this.mask = keys.length - 1;
+            this.size = size;
+            this.dictionary = dictionary;
+            this.dictionaryCodes = dictionaryCodes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String[] dictionary() {
+            return dictionary;
+        }
+
+        int codeOf(int id) {
+            int slot = home(id, mask);
+            while (true) {
+                int key = keys[slot];
+                if (key == id) {
+                    return codes[slot];
+                }
+                if (key == EMPTY_KEY) {
+                    return MISSING;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        int check(int id, String response) {
+            int code = codeOf(id);
+            if (code == MISSING) {
+                return UNKNOWN;
+            }
+            String correctAnswer = dictionary[code];
+            return correctAnswer != null && correctAnswer.equals(response) ? CORRECT : INCORRECT;
+        }
+
+        Table with(int id, String correctAnswer) {
+            Table base = without(id);
+            if ((base.size + 1) * 2 > base.keys.length) {
+                Builder builder = new Builder((base.size + 1) * 2);
+                for (int slot = 0; slot < base.keys.length; slot++) {
+                    if (base.keys[slot] != EMPTY_KEY) {
+                        builder.put(base.keys[slot], base.dictionary[base.codes[slot]]);
+                    }
+                }
+                builder.put(id, correctAnswer);
+                return builder.build();
+            }
+
+            String[] dictionary = base.dictionary;
+            Map<String, Integer> dictionaryCodes = base.dictionaryCodes;
+            Integer code = dictionaryCodes.get(correctAnswer);
+            if (code == null) {
+                code = dictionary.length;
+                dictionary = Arrays.copyOf(dictionary, dictionary.length + 1);
+                dictionary[code] = correctAnswer;
+                dictionaryCodes = new HashMap<>(dictionaryCodes);
+                dictionaryCodes.put(correctAnswer, code);
+            }
+
+            int[] keys = base.keys.clone();
+            int[] codes = base.codes.clone();
+            insert(keys, codes, id, code);
+            return new Table(keys, codes, base.size + 1, dictionary, dictionaryCodes);
+        }
+
+        Table without(int id) {
+            int slot = home(id, mask);
+            while (keys[slot] != id) {
+                if (keys[slot] == EMPTY_KEY) {
+                    return this;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int[] keys = this.keys.clone();
+            int[] codes = this.codes.clone();
+            // Backward-shift deletion keeps probe sequences intact without tombstones
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (keys[next] == EMPTY_KEY) {
+                    break;
+                }
+                int desired = home(keys[next], mask);
+                boolean reachable = hole <= next ? (hole < desired && desired <= next) : (hole < desired || desired <= next);
+                if (!reachable) {
+                    keys[hole] = keys[next];
+                    codes[hole] = codes[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY_KEY;
+            return new Table(keys, codes, size - 1, dictionary, dictionaryCodes);
+        }
+
+        private static void insert(int[] keys, int[] codes, int id, int code) {
+            int mask = keys.length - 1;
+            int slot = home(id, mask);
+            while (keys[slot] != EMPTY_KEY && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            codes[slot] = code;
+        }
+
+        private static int home(int id, int mask) {
+            int hash = id * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        /**
+         * Accumulates entries into a table sized for a load factor of at most 0.5.
+         */
+        static final class Builder {
+
+            private final int[] keys;
+
+            private final int[] codes;
+
+            private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+            private String[] dictionary = new String[16];
+
+            private int size;
+
+            Builder(int expectedSize) {
+                int capacity = Integer.highestOneBit(Math.max(8, expectedSize) * 2 - 1) << 1;
+                keys = new int[capacity];
+                codes = new int[capacity];
+                Arrays.fill(keys, EMPTY_KEY);
+            }
+
+            void put(int id, String correctAnswer) {
+                Integer code = dictionaryCodes.get(correctAnswer);
+                if (code == null) {
+                    code = dictionaryCodes.size();
+                    if (code == dictionary.length) {
+                        dictionary = Arrays.copyOf(dictionary, code * 2);
+                    }
+                    dictionary[code] = correctAnswer;
+                    dictionaryCodes.put(correctAnswer, code);
+                }
+                if (codeOfBuilding(id) == MISSING) {
+                    size++;
+                }
+                insert(keys, codes, id, code);
+            }
+
+            Table build() {
+                return new Table(keys, codes, size,
+                        Arrays.copyOf(dictionary, dictionaryCodes.size()), dictionaryCodes);
+            }
+
+            private int codeOfBuilding(int id) {
+                int mask = keys.length - 1;
+                int slot = home(id, mask);
+                while (keys[slot] != EMPTY_KEY) {
+                    if (keys[slot] == id) {
+                        return codes[slot];
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                return MISSING;
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.CatalogChange;
+import com.nurdinaffandidev.question_service.model.CategoryVersion;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.CatalogChangeRepository;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-memory structures of several replicas sharing one database coherent.
+ *
+ * Every add, delete and import writes a {@link CatalogChange} row whose auto-generated version is
+ * the new catalog version. Each instance polls for versions above the last one it has seen, every
+ * {@code question.sync.poll-interval-ms}, and replays the changes made by other instances to its
+ * {@link QuestionChangeListener}s: an add or delete updates the structures incrementally, only an
+ * import triggers a rebuild.
+ *
+ * Versions are allocated before commit, so a change may become visible after a later one. Missing
+ * versions are re-read on the following polls and skipped once they are older than
+ * {@code question.sync.gap-timeout-ms} (a rolled-back transaction never fills its version).
+ *
+ * The synced version, and the version of the latest synced change to each category, are shared
+ * by all replicas that have caught up, so {@link CatalogVersions} builds ETags from them. This
+ * instance's own committed writes are tracked until the poller reads them back, so its tags can
+ * move at once instead of after the next poll.
+ *
+ * Enabled with {@code question.sync.enabled}.
+ */
+@Component
+public class CatalogChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeLog.class);
+
+    private final CatalogChangeRepository changeRepository;
+
+    private final QuestionRepository questionRepository;
+
+    private final List<QuestionChangeListener> changeListeners;
+
+    private final boolean enabled;
+
+    private final long pollIntervalMillis;
+
+    private final int batchSize;
+
+    private final long gapTimeoutNanos;
+
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString(); // Identifies this instance's own changes
+
+    private final ScheduledExecutorService poller;
+
+    // Poller state, only touched by the poller thread
+    private long appliedVersion; // Every version up to this one has been applied or skipped
+    private final Map<Long, CatalogChange> appliedAhead = new HashMap<>(); // Versions above appliedVersion already applied
+    private final Map<Long, Long> gaps = new HashMap<>(); // Missing version -> System.nanoTime() first noticed
+
+    private volatile long latestVersion; // Highest version seen, by this instance's writes or by polling
+
+    private volatile long syncedVersion; // Published copy of appliedVersion
+
+    private final Map<String, Long> categoryVersions = new ConcurrentHashMap<>(); // Latest synced change per category
+
+    private volatile long reloadVersion; // Latest synced bulk change, which changes every category
+
+    // This instance's committed writes, kept until syncedVersion covers them
+    private final AtomicLong ownCommits = new AtomicLong();
+    private final Map<String, Long> ownCategoryVersions = new ConcurrentHashMap<>();
+    private volatile long ownVersion;
+    private volatile long ownReloadVersion;
+
+    private final Counter applied;
+
+    private final Counter skippedGaps;
+
+    /**
+     * @param changeRepository repository for the change log
+     * @param questionRepository repository used to read questions saved by other instances
+     * @param changeListeners in-memory structures to update with changes made by other instances
+     * @param meterRegistry registry for the version and applied-change metrics
+     * @param enabled whether changes are logged and other instances' changes are applied
+     * @param pollIntervalMillis delay between polls of the change log
+     * @param batchSize maximum number of changes read per poll
+     * @param gapTimeoutMillis how long a missing version is waited for before it is skipped
+     * @param retentionMinutes how long change log rows are kept
+     */
+    @Autowired
+    public CatalogChangeLog(CatalogChangeRepository changeRepository, QuestionRepository questionRepository,
+                            List<QuestionChangeListener> changeListeners, MeterRegistry meterRegistry,
+                            @Value("${question.sync.enabled:false}") boolean enabled,
+                            @Value("${question.sync.poll-interval-ms:1000}") long pollIntervalMillis,
+                            @Value("${question.sync.batch-size:500}") int batchSize,
+                            @Value("${question.sync.gap-timeout-ms:10000}") long gapTimeoutMillis,
+                            @Value("${question.sync.retention-minutes:60}") long retentionMinutes) {
+        this.changeRepository = changeRepository;
+        this.questionRepository = questionRepository;
+        this.changeListeners = changeListeners;
+        this.enabled = enabled;
+        this.pollIntervalMillis = Math.max(1, pollIntervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.poller = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-change-poller");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        Gauge.builder("question.sync.version", this, CatalogChangeLog::currentVersion)
+                .description("Highest catalog version seen by this instance")
+                .register(meterRegistry);
+        this.applied = Counter.builder("question.sync.applied")
+                .description("Changes made by other instances applied to the in-memory structures")
+                .register(meterRegistry);
+        this.skippedGaps = Counter.builder("question.sync.skipped.gaps")
+                .description("Missing change log versions skipped after the gap timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the current version before the in-memory structures load, so changes committed while
+     * they load are replayed rather than missed, then starts polling.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        appliedVersion = changeRepository.findLatestVersion();
+        latestVersion = appliedVersion;
+        for (CategoryVersion category : changeRepository.findLatestVersionPerCategory(appliedVersion)) {
+            categoryVersions.put(category.getCategory(), category.getVersion());
+        }
+        changeRepository.findTopByTypeAndVersionLessThanEqualOrderByVersionDesc(CatalogChange.Type.RELOAD, appliedVersion)
+                .ifPresent(reload -> reloadVersion = reload.getVersion());
+        syncedVersion = appliedVersion;
+        poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeSafely, 1, 10, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * @return whether changes are logged and other instances' changes are applied
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return highest catalog version seen by this instance, or 0 when disabled
+     */
+    public long currentVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * Version up to which every committed change, made by this instance or another one, is
+     * reflected in this instance's in-memory structures. Unlike {@link #currentVersion()} it never
+     * covers uncommitted writes or versions still missing, so replicas that report the same synced
+     * version serve the same catalog. This instance's own writes are counted once the poller reads
+     * them back.
+     *
+     * @return synced catalog version, or 0 when disabled
+     */
+    public long syncedVersion() {
+        return syncedVersion;
+    }
+
+    /**
+     * Version of the latest synced change to a category, or of the latest synced import if that is
+     * later. Replicas that have caught up report the same value; changes still in the log when this
+     * instance started are included.
+     *
+     * @param category the category
+     * @return synced version of the category, or 0 if it has not changed since the log was purged
+     */
+    public long syncedVersion(String category) {
+        return Math.max(categoryVersions.getOrDefault(category, 0L), reloadVersion);
+    }
+
+    /**
+     * Number of writes this instance has committed, if one of them is not covered by
+     * {@link #syncedVersion()} yet. Such a write is already applied here but not counted in the
+     * synced versions, so it must be folded into this instance's tags until the poller reads it back.
+     *
+     * @param category only consider writes to this category and imports; null for any write
+     * @return this instance's committed write count, or 0 when the synced versions cover them all
+     */
+    public long ownWritesAhead(String category) {
+        long synced = syncedVersion;
+        long own = category == null ? ownVersion
+                : Math.max(ownCategoryVersions.getOrDefault(category, 0L), ownReloadVersion);
+        return own > synced ? ownCommits.get() : 0;
+    }
+
+    /**
+     * Logs a saved question. Call in the transaction that saves it.
+     *
+     * @param question the saved question, including its generated id
+     */
+    public void recordSaved(Question question) {
+        record(CatalogChange.Type.SAVED, question);
+    }
+
+    /**
+     * Logs a deleted question. Call in the transaction that deletes it.
+     *
+     * @param question the question as it was before deletion
+     */
+    public void recordDeleted(Question question) {
+        record(CatalogChange.Type.DELETED, question);
+    }
+
+    /**
+     * Logs a bulk change after which other instances rebuild from the database.
+     */
+    public void recordReload() {
+        record(CatalogChange.Type.RELOAD, null);
+    }
+
+    private void record(CatalogChange.Type type, Question question) {
+        if (!enabled) {
+            return;
+        }
+        CatalogChange change = new CatalogChange(0, type,
+                question != null ? question.getId() : 0,
+                question != null ? question.getCategory() : null,
+                question != null ? question.getDifficulty() : null,
+                origin, Instant.now());
+        long version = changeRepository.save(change).getVersion();
+        latestVersion = Math.max(latestVersion, version);
+        afterCommit(() -> ownWriteCommitted(change.getType(), change.getCategory(), version));
+    }
+
+    private void ownWriteCommitted(CatalogChange.Type type, String category, long version) {
+        ownCommits.incrementAndGet();
+        if (type == CatalogChange.Type.RELOAD) {
+            ownReloadVersion = Math.max(ownReloadVersion, version);
+        } else if (category != null) {
+            ownCategoryVersions.merge(category, version, Math::max);
+        }
+        ownVersion = Math.max(ownVersion, version);
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or right away outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Could not poll the catalog change log: {}", e.getMessage());
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            changeRepository.deleteByChangedAtBefore(Instant.now().minus(retention));
+        } catch (RuntimeException e) {
+            log.warn("Could not purge the catalog change log: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies changes above {@link #appliedVersion}, then advances it past applied and expired
+     * versions.
+     */
+    void poll() {
+        long now = System.nanoTime();
+        long expected = appliedVersion + 1;
+        for (CatalogChange change : changeRepository.findByVersionGreaterThanOrderByVersionAsc(
+                appliedVersion, Limit.of(batchSize))) {
+            long version = change.getVersion();
+            if (version <= appliedVersion) {
+                continue;
+            }
+            for (long missing = expected; missing < version; missing++) {
+                gaps.putIfAbsent(missing, now);
+            }
+            expected = version + 1;
+            gaps.remove(version);
+            if (appliedAhead.putIfAbsent(version, change) == null) {
+                apply(change);
+                latestVersion = Math.max(latestVersion, version);
+            }
+        }
+
+        while (true) {
+            long next = appliedVersion + 1;
+            CatalogChange change = appliedAhead.remove(next);
+            if (change != null) {
+                if (change.getType() == CatalogChange.Type.RELOAD) {
+                    reloadVersion = next;
+                } else if (change.getCategory() != null) {
+                    categoryVersions.put(change.getCategory(), next);
+                }
+                appliedVersion = next;
+                continue;
+            }
+            Long noticed = gaps.get(next);
+            if (noticed != null && now - noticed >= gapTimeoutNanos) {
+                gaps.remove(next);
+                skippedGaps.increment();
+                appliedVersion = next;
+                continue;
+            }
+            break;
+        }
+        syncedVersion = appliedVersion;
+    }
+
+    private void apply(CatalogChange change) {
+        if (origin.equals(change.getOrigin())) {
+            return; // Already applied when this instance made the change
+        }
+        switch (change.getType()) {
+            case SAVED -> questionRepository.findById(change.getQuestionId()).ifPresent(question ->
+                    changeListeners.forEach(listener -> listener.onQuestionSaved(question)));
+            case DELETED -> {
+                Question question = new Question();
+                question.setId(change.getQuestionId());
+                question.setCategory(change.getCategory());
+                question.setDifficulty(change.getDifficulty());
+                changeListeners.forEach(listener -> listener.onQuestionDeleted(question));
+            }
+            case RELOAD -> changeListeners.forEach(QuestionChangeListener::onCatalogChanged);
+        }
+        applied.increment();
+    }
+}
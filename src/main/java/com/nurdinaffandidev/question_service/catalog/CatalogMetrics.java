@@ -0,0 +1,47 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state of the in-memory question indexes as Micrometer meters.
+ */
+@Component
+public class CatalogMetrics implements MeterBinder {
+
+    private final QuestionCatalog questionCatalog;
+
+    private final AnswerKeyIndex answerKeyIndex;
+
+    @Autowired
+    public CatalogMetrics(QuestionCatalog questionCatalog, AnswerKeyIndex answerKeyIndex) {
+        this.questionCatalog = questionCatalog;
+        this.answerKeyIndex = answerKeyIndex;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("question.catalog.size", questionCatalog, catalog -> catalog.stats().getSize())
+                .description("Number of questions in the in-memory catalog")
+                .register(registry);
+        Gauge.builder("question.catalog.build.duration", questionCatalog, catalog -> catalog.stats().getBuildMillis())
+                .description("Duration of the last full catalog rebuild")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("question.catalog.lookups", questionCatalog, catalog -> catalog.stats().getHits())
+                .description("By-id lookups against the in-memory catalog")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("question.catalog.lookups", questionCatalog, catalog -> catalog.stats().getMisses())
+                .description("By-id lookups against the in-memory catalog")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("question.answer-key.size", answerKeyIndex, AnswerKeyIndex::size)
+                .description("Number of questions in the answer-key index")
+                .register(registry);
+    }
+}
@@ -0,0 +1,240 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable, point-in-time view of the question catalog.
+ *
+ * A snapshot is never modified after construction; {@link #with(Question)} and {@link #without(int)}
+ * return a new snapshot, so readers holding a reference always see a consistent catalog.
+ */
+public final class CatalogSnapshot {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(Map.of(), Map.of(), Map.of(), 0L, 0L);
+
+    /** Questions keyed by id. */
+    private final Map<Integer, Question> questionsById;
+
+    /** Question ids per category, in ascending id order. */
+    private final Map<String, int[]> idsByCategory;
+
+    /** Question ids per (category, difficulty) bucket, keyed by {@link #bucketKey}, in ascending id order. */
+    private final Map<String, int[]> idsByBucket;
+
+    /** Wall-clock time (epoch millis) at which the snapshot was built. */
+    private final long builtAtMillis;
+
+    /** Time taken to build the snapshot, in milliseconds. */
+    private final long buildDurationMillis;
+
+    private CatalogSnapshot(Map<Integer, Question> questionsById, Map<String, int[]> idsByCategory,
+                            Map<String, int[]> idsByBucket, long builtAtMillis, long buildDurationMillis) {
+        this.questionsById = questionsById;
+        this.idsByCategory = idsByCategory;
+        this.idsByBucket = idsByBucket;
+        this.builtAtMillis = builtAtMillis;
+        this.buildDurationMillis = buildDurationMillis;
+    }
+
+    /**
+     * @return an empty snapshot, used before the catalog has been loaded
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from a full set of questions.
+     *
+     * @param questions all questions in the catalog
+     * @param startedAtNanos {@link System#nanoTime()} value taken before the questions were loaded
+     * @return the new snapshot
+     */
+    public static CatalogSnapshot of(Collection<Question> questions, long startedAtNanos) {
+        Map<Integer, Question> byId = new HashMap<>(Math.max(16, questions.size() * 4 / 3 + 1));
+        for (Question question : questions) {
+            byId.put(question.getId(), copyOf(question));
+        }
+        Map<String, int[]> byCategory = index(questions, Question::getCategory);
+        Map<String, int[]> byBucket = index(questions, CatalogSnapshot::bucketKey);
+
+        long duration = (System.nanoTime() - startedAtNanos) / 1_000_000L;
+        return new CatalogSnapshot(Collections.unmodifiableMap(byId), byCategory, byBucket,
+                System.currentTimeMillis(), duration);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given question added or replaced.
+     *
+     * @param question the question to add
+     * @return the new snapshot
+     */
+    public CatalogSnapshot with(Question question) {
+        CatalogSnapshot base = without(question.getId());
+
+        Map<Integer, Question> byId = new HashMap<>(base.questionsById);
+        byId.put(question.getId(), copyOf(question));
+
+        return new CatalogSnapshot(Collections.unmodifiableMap(byId),
+                withId(base.idsByCategory, question.getCategory(), question.getId()),
+                withId(base.idsByBucket, bucketKey(question), question.getId()),
+                builtAtMillis, buildDurationMillis);
+    }
+
+    /**
+     * Returns a copy of this snapshot without the question with the given id.
+     * Returns this snapshot unchanged if the id is not present.
+     *
+     * @param id the question id to remove
+     * @return the new snapshot
+     */
+    public CatalogSnapshot without(int id) {
+        Question existing = questionsById.get(id);
+        if (existing == null) {
+            return this;
+        }
+
+        Map<Integer, Question> byId = new HashMap<>(questionsById);
+        byId.remove(id);
+
+        return new CatalogSnapshot(Collections.unmodifiableMap(byId),
+                withoutId(idsByCategory, existing.getCategory(), id),
+                withoutId(idsByBucket, bucketKey(existing), id),
+                builtAtMillis, buildDurationMillis);
+    }
+
+    /**
+     * @param id question id
+     * @return the question, or {@code null} if it is not in the snapshot
+     */
+    public Question get(int id) {
+        return questionsById.get(id);
+    }
+
+    /**
+     * Returns the ids of all questions in a category. The returned array is shared and must not be modified.
+     *
+     * @param category the category name
+     * @return ids in ascending order, or an empty array if the category is unknown
+     */
+    public int[] idsForCategory(String category) {
+        return idsByCategory.getOrDefault(category, NO_IDS);
+    }
+
+    /**
+     * Returns the ids of all questions in a (category, difficulty) bucket.
+     * The returned array is shared and must not be modified.
+     *
+     * @param category the category name
+     * @param difficulty the difficulty level
+     * @return ids in ascending order, or an empty array if the bucket is empty
+     */
+    public int[] idsForBucket(String category, String difficulty) {
+        return idsByBucket.getOrDefault(bucketKey(category, difficulty), NO_IDS);
+    }
+
+    /**
+     * @return all questions in the snapshot, in no particular order
+     */
+    public Collection<Question> questions() {
+        return questionsById.values();
+    }
+
+    /**
+     * @return number of questions in the snapshot
+     */
+    public int size() {
+        return questionsById.size();
+    }
+
+    /**
+     * @return number of distinct categories in the snapshot
+     */
+    public int categoryCount() {
+        return idsByCategory.size();
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public long getBuildDurationMillis() {
+        return buildDurationMillis;
+    }
+
+    private static String bucketKey(Question question) {
+        return bucketKey(question.getCategory(), question.getDifficulty());
+    }
+
+    private static String bucketKey(String category, String difficulty) {
+        return category + '\u0000' + difficulty;
+    }
+
+    /**
+     * Groups question ids by key into exactly-sized, sorted arrays.
+     */
+    private static Map<String, int[]> index(Collection<Question> questions, Function<Question, String> keyOf) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Question question : questions) {
+            sizes.merge(keyOf.apply(question), 1, Integer::sum);
+        }
+        Map<String, int[]> index = new HashMap<>(Math.max(16, sizes.size() * 2));
+        sizes.forEach((key, size) -> index.put(key, new int[size]));
+
+        Map<String, Integer> fill = new HashMap<>(Math.max(16, sizes.size() * 2));
+        for (Question question : questions) {
+            String key = keyOf.apply(question);
+            int position = fill.merge(key, 1, Integer::sum) - 1;
+            index.get(key)[position] = question.getId();
+        }
+        index.values().forEach(Arrays::sort);
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static Map<String, int[]> withId(Map<String, int[]> index, String key, int id) {
+        Map<String, int[]> updatedIndex = new HashMap<>(index);
+        int[] current = index.getOrDefault(key, NO_IDS);
+        int[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = id;
+        Arrays.sort(updated);
+        updatedIndex.put(key, updated);
+        return Collections.unmodifiableMap(updatedIndex);
+    }
+
+    private static Map<String, int[]> withoutId(Map<String, int[]> index, String key, int id) {
+        Map<String, int[]> updatedIndex = new HashMap<>(index);
+        int[] remaining = Arrays.stream(index.getOrDefault(key, NO_IDS))
+                .filter(candidate -> candidate != id)
+                .toArray();
+        if (remaining.length == 0) {
+            updatedIndex.remove(key);
+        } else {
+            updatedIndex.put(key, remaining);
+        }
+        return Collections.unmodifiableMap(updatedIndex);
+    }
+
+    // Detached copy so later changes to a managed entity cannot leak into the snapshot
+    private static Question copyOf(Question question) {
+        return new Question(
+                question.getId(),
+                question.getCategory(),
+                question.getDifficulty(),
+                question.getOption1(),
+                question.getOption2(),
+                question.getOption3(),
+                question.getOption4(),
+                question.getQuestionTitle(),
+                question.getCorrectAnswer()
+        );
+    }
+}
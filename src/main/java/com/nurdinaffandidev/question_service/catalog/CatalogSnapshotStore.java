@@ -0,0 +1,311 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Persists the question catalog to a compact binary file so a restarted instance can fill its
+ * in-memory indexes without a full table load.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * int    magic "QCAT"
+ * int    format version
+ * int    question count
+ * int    highest question id
+ * int    dictionary size, then that many strings (categories and difficulties)
+ * per question:
+ *   int  id
+ *   int  category code, int difficulty code (index into the dictionary, -1 for null)
+ *   6 strings: option1..option4, questionTitle, correctAnswer
+ * int    CRC32 of everything above
+ * </pre>
+ * Strings are length-prefixed UTF-8 (length -1 for null).
+ *
+ * The file is memory-mapped on load and only used if its checksum is valid and its question
+ * count and highest id match the database; otherwise the caller loads from the database.
+ * Writes are debounced by {@code question.snapshot.write-delay-ms} and go to a temporary file
+ * that is atomically moved into place.
+ *
+ * Enabled with {@code question.snapshot.enabled}.
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    static final int MAGIC = 0x51434154; // "QCAT"
+
+    static final int VERSION = 1;
+
+    private static final int NULL_CODE = -1;
+
+    private final boolean enabled;
+
+    private final Path path;
+
+    private final long writeDelayMillis;
+
+    private final AtomicBoolean writePending = new AtomicBoolean();
+
+    private final ScheduledExecutorService writer;
+
+    private volatile Supplier<Collection<Question>> pendingSource;
+
+    /**
+     * @param enabled whether the snapshot file is read at startup and written after changes
+     * @param path location of the snapshot file
+     * @param writeDelayMillis delay used to coalesce bursts of changes into one write
+     */
+    @Autowired
+    public CatalogSnapshotStore(@Value("${question.snapshot.enabled:true}") boolean enabled,
+                                @Value("${question.snapshot.path:${java.io.tmpdir}/quizapp-question-catalog-${server.port:8080}.bin}") String path,
+                                @Value("${question.snapshot.write-delay-ms:1000}") long writeDelayMillis) {
+        this.enabled = enabled;
+        this.path = Paths.get(path).toAbsolutePath();
+        this.writeDelayMillis = writeDelayMillis;
+        this.writer = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * @return whether the snapshot file is in use
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return location of the snapshot file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the snapshot file if it matches the database.
+     *
+     * @param expectedCount number of questions in the database
+     * @param expectedMaxId highest question id in the database
+     * @return the questions, or null if the file is missing, unreadable or stale
+     */
+    public List<Question> load(long expectedCount, int expectedMaxId) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return read(path, expectedCount, expectedMaxId);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Schedules the catalog to be written. Requests arriving before the write runs are coalesced,
+     * and the latest source is read when the write happens.
+     *
+     * @param source supplies the questions to write
+     */
+    public void requestWrite(Supplier<Collection<Question>> source) {
+        if (!enabled) {
+            return;
+        }
+        pendingSource = source;
+        if (writePending.compareAndSet(false, true)) {
+            writer.schedule(this::writePending, writeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes any pending changes before shutdown.
+     */
+    @PreDestroy
+    public void flush() {
+        if (writer != null) {
+            writer.shutdownNow();
+            writePending();
+        }
+    }
+
+    private synchronized void writePending() {
+        if (!writePending.getAndSet(false)) {
+            return;
+        }
+        try {
+            write(pendingSource.get(), path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes questions to {@code target} through a temporary file and an atomic move.
+     */
+    static void write(Collection<Question> questions, Path target) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        int maxId = 0;
+        for (Question question : questions) {
+            for (String word : new String[]{question.getCategory(), question.getDifficulty()}) {
+                if (word != null && dictionary.putIfAbsent(word, words.size()) == null) {
+                    words.add(word);
+                }
+            }
+            maxId = Math.max(maxId, question.getId());
+        }
+
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Files.newOutputStream(temp), crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(questions.size());
+                out.writeInt(maxId);
+                out.writeInt(words.size());
+                for (String word : words) {
+                    writeString(out, word);
+                }
+                for (Question question : questions) {
+                    out.writeInt(question.getId());
+                    out.writeInt(codeOf(dictionary, question.getCategory()));
+                    out.writeInt(codeOf(dictionary, question.getDifficulty()));
+                    writeString(out, question.getOption1());
+                    writeString(out, question.getOption2());
+                    writeString(out, question.getOption3());
+                    writeString(out, question.getOption4());
+                    writeString(out, question.getQuestionTitle());
+                    writeString(out, question.getCorrectAnswer());
+                }
+                out.flush();
+                out.writeInt((int) crc.getValue());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Memory-maps and decodes a snapshot file.
+     *
+     * @return the questions, or null if the file does not match the expected count and highest id
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    static List<Question> read(Path source, long expectedCount, int expectedMaxId) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 6 * Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("unexpected file size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int checksumOffset = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(checksumOffset));
+            if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+                throw new IOException("checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("not a version " + VERSION + " catalog snapshot");
+            }
+
+            int count = buffer.getInt();
+            int maxId = buffer.getInt();
+            if (count != expectedCount || maxId != expectedMaxId) {
+                return null;
+            }
+            String[] dictionary = new String[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(buffer);
+            }
+
+            List<Question> questions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = buffer.getInt();
+                String category = wordOf(dictionary, buffer.getInt());
+                String difficulty = wordOf(dictionary, buffer.getInt());
+                questions.add(new Question(
+                        id,
+                        category,
+                        difficulty,
+                        readString(buffer),
+                        readString(buffer),
+                        readString(buffer),
+                        readString(buffer),
+                        readString(buffer),
+                        readString(buffer)
+                ));
+            }
+            return questions;
+        }
+    }
+
+    private static int codeOf(Map<String, Integer> dictionary, String word) {
+        return word == null ? NULL_CODE : dictionary.get(word);
+    }
+
+    private static String wordOf(String[] dictionary, int code) {
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
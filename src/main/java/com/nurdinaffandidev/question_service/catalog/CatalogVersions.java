@@ -0,0 +1,179 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version numbers for the whole catalog and for each category, used as strong ETags so that
+ * unchanged list responses can be answered with 304 Not Modified before any query runs.
+ *
+ * A version goes up after every add or delete in its category (and every version after an
+ * import). Listeners are only notified once the change has been committed, so a response built
+ * while the change is in flight carries the old version and is never reused after it. This
+ * listener runs last, after the other in-memory structures have been updated.
+ *
+ * Without {@code question.sync.enabled}, tags start with a random epoch chosen at startup, so tags
+ * from before a restart, or from another replica, never match: behind a load balancer a client
+ * only gets a 304 when it reaches the instance that built its tag. With sync, tags are built from
+ * the versions the change log shares between replicas instead: {@link CatalogChangeLog#syncedVersion()}
+ * for the whole catalog and id lists, {@link CatalogChangeLog#syncedVersion(String)} per category.
+ * This instance's committed writes move its tags at once; until the log covers them, its tags carry
+ * its epoch and no other replica matches them.
+ *
+ * Enabled with {@code question.etag.enabled}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CatalogVersions implements QuestionChangeListener {
+
+    private final ObjectProvider<CatalogChangeLog> changeLogProvider;
+
+    private final boolean enabled;
+
+    private volatile CatalogChangeLog changeLog; // Looked up on first use, as it notifies this listener
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private final AtomicLong reloads = new AtomicLong(); // Bulk changes, which move every category
+
+    private final Map<String, AtomicLong> categoryVersions = new ConcurrentHashMap<>();
+
+    /**
+     * @param changeLogProvider change log whose version the tags follow when sync is enabled
+     * @param enabled whether list responses carry ETags
+     */
+    @Autowired
+    public CatalogVersions(ObjectProvider<CatalogChangeLog> changeLogProvider,
+                           @Value("${question.etag.enabled:true}") boolean enabled) {
+        this.changeLogProvider = changeLogProvider;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether list responses carry ETags
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param variant representation suffix, e.g. the response media type
+     * @return ETag for responses built from the whole catalog, or null when disabled
+     */
+    public String catalogTag(String variant) {
+        if (!enabled) {
+            return null;
+        }
+        CatalogChangeLog sync = syncedChangeLog();
+        if (sync != null) {
+            return syncedTag("all." + sync.syncedVersion(), sync.ownWritesAhead(null), variant);
+        }
+        return tag("all." + catalogVersion.get(), variant);
+    }
+
+    /**
+     * @param category the category
+     * @param variant representation suffix, e.g. the response media type
+     * @return ETag for responses built from one category, or null when disabled
+     */
+    public String categoryTag(String category, String variant) {
+        if (!enabled) {
+            return null;
+        }
+        CatalogChangeLog sync = syncedChangeLog();
+        if (sync != null) {
+            return syncedTag("category." + sync.syncedVersion(category), sync.ownWritesAhead(category), variant);
+        }
+        AtomicLong version = categoryVersions.get(category);
+        return tag("category." + reloads.get() + "." + (version == null ? 0 : version.get()), variant);
+    }
+
+    /**
+     * Tag for a response built from questions picked by id. Any change moves it, since a missing id
+     * may appear in any category.
+     *
+     * @param ids requested ids, in request order
+     * @param variant representation suffix, e.g. the response media type
+     * @return ETag for the id list, or null when disabled
+     */
+    public String idsTag(List<Integer> ids, String variant) {
+        if (!enabled) {
+            return null;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (Integer id : ids) {
+            hash = (hash ^ (id == null ? -1 : id)) * 0x100000001b3L;
+        }
+        String value = "ids." + ids.size() + "." + Long.toHexString(hash);
+        CatalogChangeLog sync = syncedChangeLog();
+        if (sync != null) {
+            return syncedTag(value + "." + sync.syncedVersion(), sync.ownWritesAhead(null), variant);
+        }
+        return tag(value + "." + catalogVersion.get(), variant);
+    }
+
+    private String tag(String value, String variant) {
+        return "\"" + epoch + "." + value + (variant == null ? "" : "." + variant) + "\"";
+    }
+
+    /**
+     * Tag shared by replicas that have caught up with the change log. While this instance has
+     * committed writes the log has not covered yet, its own epoch and write count are appended, as
+     * no other replica serves that content.
+     */
+    private String syncedTag(String value, long ownWritesAhead, String variant) {
+        String own = ownWritesAhead == 0 ? "" : "." + epoch + "." + ownWritesAhead;
+        return "\"sync." + value + own + (variant == null ? "" : "." + variant) + "\"";
+    }
+
+    /**
+     * @return the change log when sync is enabled, otherwise null
+     */
+    private CatalogChangeLog syncedChangeLog() {
+        CatalogChangeLog sync = changeLog;
+        if (sync == null) {
+            sync = changeLogProvider.getIfAvailable();
+            if (sync == null) {
+                return null;
+            }
+            changeLog = sync;
+        }
+        return sync.isEnabled() ? sync : null;
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        bump(question.getCategory());
+    }
+
+    @Override
+    public void onQuestionDeleted(Question question) {
+        bump(question.getCategory());
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        reloads.incrementAndGet();
+        catalogVersion.incrementAndGet();
+    }
+
+    private void bump(String category) {
+        if (category != null) {
+            categoryVersions.computeIfAbsent(category, c -> new AtomicLong()).incrementAndGet();
+        }
+        catalogVersion.incrementAndGet();
+    }
+}
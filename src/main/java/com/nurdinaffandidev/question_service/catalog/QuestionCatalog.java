@@ -0,0 +1,208 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.CatalogStats;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through, in-memory catalog of all questions.
+ *
+ * Reads go against an immutable {@link CatalogSnapshot} held in a volatile field, so they never lock
+ * or touch the database. Writes (reload, add, delete) are serialized and publish a new snapshot
+ * atomically (copy-on-write).
+ *
+ * At startup the catalog is filled from the {@link CatalogSnapshotStore} file when it matches the
+ * database, and from a full table load otherwise; every rebuild or change is then written back to it.
+ *
+ * Enabled with {@code question.catalog.enabled}; when disabled, every lookup reports a miss and
+ * callers fall back to the repository.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Other listeners may read the catalog, so it is patched first
+public class QuestionCatalog implements SmartInitializingSingleton, QuestionChangeListener {
+
+    static final String FROM_DATABASE = "database";
+
+    static final String FROM_SNAPSHOT_FILE = "snapshot-file";
+
+    private final QuestionRepository questionRepository;
+
+    private final CatalogSnapshotStore snapshotStore;
+
+    private final boolean enabled;
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.empty();
+
+    private volatile String loadedFrom;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param questionRepository repository used to load the full catalog
+     * @param snapshotStore snapshot file used for warm starts
+     * @param enabled whether lookups are served from memory
+     */
+    @Autowired
+    public QuestionCatalog(QuestionRepository questionRepository, CatalogSnapshotStore snapshotStore,
+                           @Value("${question.catalog.enabled:true}") boolean enabled) {
+        this.questionRepository = questionRepository;
+        this.snapshotStore = snapshotStore;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads the catalog once all singletons (including the SQL data initializer) are ready,
+     * before the web server starts accepting requests and before the instance registers with Eureka.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadIfNeeded();
+    }
+
+    /**
+     * Performs the startup load unless it has already happened, so indexes built from the catalog
+     * can make sure it is filled first.
+     */
+    public synchronized void loadIfNeeded() {
+        if (enabled && loadedFrom == null && !loadSnapshotFile()) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and publishes it atomically.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        snapshot = CatalogSnapshot.of(questionRepository.findAll(), start);
+        loadedFrom = FROM_DATABASE;
+        snapshotStore.requestWrite(this::questions);
+    }
+
+    /**
+     * Fills the catalog from the snapshot file if it matches the database's question count and highest id.
+     *
+     * @return whether the catalog was loaded from the file
+     */
+    synchronized boolean loadSnapshotFile() {
+        if (!snapshotStore.isEnabled()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        List<Question> questions = snapshotStore.load(questionRepository.count(), questionRepository.findMaxId());
+        if (questions == null) {
+            return false;
+        }
+        snapshot = CatalogSnapshot.of(questions, start);
+        loadedFrom = FROM_SNAPSHOT_FILE;
+        return true;
+    }
+
+    /**
+     * @return whether lookups are served from memory
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks up a question by id, recording a hit or miss.
+     *
+     * @param id question id
+     * @return the question, or {@code null} if not present (or the catalog is disabled)
+     */
+    public Question find(int id) {
+        if (!enabled) {
+            return null;
+        }
+        Question question = snapshot.get(id);
+        if (question == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return question;
+    }
+
+    /**
+     * @return the current snapshot; never {@code null}
+     */
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds or replaces a question in the catalog.
+     *
+     * @param question the question that was saved
+     */
+    public synchronized void put(Question question) {
+        if (enabled) {
+            snapshot = snapshot.with(question);
+            snapshotStore.requestWrite(this::questions);
+        }
+    }
+
+    /**
+     * Removes a question from the catalog.
+     *
+     * @param id id of the deleted question
+     */
+    public synchronized void remove(int id) {
+        if (enabled) {
+            snapshot = snapshot.without(id);
+            snapshotStore.requestWrite(this::questions);
+        }
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        put(question);
+    }
+
+    @Override
+    public void onQuestionDeleted(Question question) {
+        remove(question.getId());
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    private Collection<Question> questions() {
+        return snapshot.questions();
+    }
+
+    /**
+     * @return current size, build information and hit/miss counters
+     */
+    public CatalogStats stats() {
+        CatalogSnapshot current = snapshot;
+        return new CatalogStats(
+                enabled,
+                current.size(),
+                current.categoryCount(),
+                current.getBuiltAtMillis() == 0 ? null : Instant.ofEpochMilli(current.getBuiltAtMillis()),
+                loadedFrom,
+                current.getBuildDurationMillis(),
+                hits.sum(),
+                misses.sum()
+        );
+    }
+}
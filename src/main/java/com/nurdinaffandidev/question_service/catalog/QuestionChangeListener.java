@@ -0,0 +1,34 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+
+/**
+ * Callback for in-memory structures that must stay in sync with questions added or deleted
+ * through {@code QuestionService}.
+ *
+ * Listeners are invoked synchronously, in {@link org.springframework.core.annotation.Order} order,
+ * after the repository call has succeeded.
+ */
+public interface QuestionChangeListener {
+
+    /**
+     * Called after a question has been saved.
+     *
+     * @param question the saved question, including its generated id
+     */
+    void onQuestionSaved(Question question);
+
+    /**
+     * Called after a question has been deleted.
+     *
+     * @param question the question as it was before deletion
+     */
+    void onQuestionDeleted(Question question);
+
+    /**
+     * Called after bulk changes (e.g. an import) that did not notify listeners per question.
+     * Listeners should rebuild their state from the database. Does nothing by default.
+     */
+    default void onCatalogChanged() {
+    }
+}
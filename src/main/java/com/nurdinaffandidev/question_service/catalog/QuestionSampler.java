@@ -0,0 +1,122 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks k distinct question ids out of a category's id array in O(k) time and space.
+ *
+ * Uses a sparse partial Fisher-Yates shuffle: only the positions touched by the first k swaps are
+ * tracked, so the source array is never copied or modified. The result is a uniformly random,
+ * randomly ordered selection, equivalent to {@code ORDER BY RANDOM() LIMIT k}.
+ *
+ * By default randomness comes from {@link ThreadLocalRandom}. Setting {@code question.sampling.seed}
+ * switches to a single seeded generator so that selections are reproducible (e.g. in tests).
+ */
+@Component
+public class QuestionSampler {
+
+    // Above this fraction of the source array a dense copy is cheaper than tracking sparse swaps
+    private static final int DENSE_THRESHOLD_DIVISOR = 4;
+
+    private final QuestionCatalog questionCatalog;
+
+    private final boolean memoryEngine;
+
+    private final RandomGenerator seededRandom;
+
+    /**
+     * @param questionCatalog catalog providing per-category id arrays
+     * @param engine {@code memory} to sample from the catalog, {@code sql} to keep using the database
+     * @param seed optional seed for reproducible selections; empty for thread-local randomness
+     */
+    @Autowired
+    public QuestionSampler(QuestionCatalog questionCatalog,
+                           @Value("${question.sampling.engine:memory}") String engine,
+                           @Value("${question.sampling.seed:}") Long seed) {
+        this.questionCatalog = questionCatalog;
+        this.memoryEngine = "memory".equalsIgnoreCase(engine);
+        this.seededRandom = seed == null ? null : new Random(seed);
+    }
+
+    /**
+     * The in-memory engine needs the catalog; otherwise callers fall back to the SQL query.
+     * @return whether {@link #sampleCategory(String, int)} can be used
+     */
+    public boolean isActive() {
+        return memoryEngine && questionCatalog.isEnabled();
+    }
+
+    /**
+     * Selects up to {@code count} distinct random question ids from a category.
+     *
+     * @param category the category to sample from
+     * @param count number of ids wanted
+     * @return selected ids; fewer than {@code count} if the category is smaller, empty if unknown
+     */
+    public int[] sampleCategory(String category, int count) {
+        return sample(questionCatalog.snapshot().idsForCategory(category), count);
+    }
+
+    /**
+     * Selects up to {@code count} distinct random elements from {@code ids} without modifying it.
+     *
+     * @param ids source ids (assumed distinct)
+     * @param count number of ids wanted
+     * @return selected ids in random order
+     */
+    public int[] sample(int[] ids, int count) {
+        return sample(ids, count, random());
+    }
+
+    /**
+     * Same as {@link #sample(int[], int)} with an explicit random source.
+     *
+     * @param ids source ids (assumed distinct)
+     * @param count number of ids wanted
+     * @param random random source
+     * @return selected ids in random order
+     */
+    public static int[] sample(int[] ids, int count, RandomGenerator random) {
+        int n = ids.length;
+        int k = Math.max(0, Math.min(count, n));
+        if (k == 0) {
+            return new int[0];
+        }
+
+        if (k >= n / DENSE_THRESHOLD_DIVISOR) {
+            int[] copy = Arrays.copyOf(ids, n);
+            for (int i = 0; i < k; i++) {
+                int j = i + random.nextInt(n - i);
+                int tmp = copy[i];
+                copy[i] = copy[j];
+                copy[j] = tmp;
+            }
+            return k == n ? copy : Arrays.copyOf(copy, k);
+        }
+
+        // Sparse variant: remember only displaced positions; position i is never visited again once chosen
+        Map<Integer, Integer> displaced = new HashMap<>(k * 2);
+        int[] selected = new int[k];
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = displaced.getOrDefault(j, j);
+            int atI = displaced.getOrDefault(i, i);
+            displaced.put(j, atI);
+            selected[i] = ids[atJ];
+        }
+        return selected;
+    }
+
+    private RandomGenerator random() {
+        return seededRandom != null ? seededRandom : ThreadLocalRandom.current();
+    }
+}
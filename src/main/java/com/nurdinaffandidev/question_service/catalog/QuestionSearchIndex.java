@@ -0,0 +1,508 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over question titles and options, ranked with BM25.
+ *
+ * Text is lower-cased and split into letter/digit tokens; title terms count twice as much as
+ * option terms. Each term maps to a posting list of question ids (ascending) and term frequencies.
+ * A query matches questions containing any of its terms; the top {@code limit} questions by score
+ * are kept in a bounded heap. Terms found in more than {@link #COMMON_TERM_RATIO} of all questions
+ * (words like "what") first only add to the scores of questions matched by rarer terms; questions
+ * matching nothing but common terms are only collected if they could still reach the top results,
+ * so such terms rarely make a query walk the whole catalog.
+ *
+ * Updated incrementally on add/delete; reads share a read lock and writes take the write lock.
+ *
+ * Enabled with {@code question.search.enabled}; when disabled, search falls back to a SQL LIKE scan.
+ */
+@Component
+@Order(2)
+public class QuestionSearchIndex implements SmartInitializingSingleton, QuestionChangeListener {
+
+    /** Weight of a title occurrence relative to an option occurrence. */
+    static final int TITLE_WEIGHT = 2;
+
+    /** Document-frequency ratio above which a term only boosts questions matched by rarer terms. */
+    static final double COMMON_TERM_RATIO = 0.1;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    /**
+     * Growable posting list: ascending question ids with their weighted term frequencies.
+     */
+    private static final class Postings {
+
+        private final String term; // Shared by every document indexed under this term
+
+        private int[] ids = new int[2];
+
+        private int[] frequencies = new int[2];
+
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                frequencies[position] = frequency; // Re-indexed question
+                return;
+            }
+            position = position < 0 ? -position - 1 : position;
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            ids[position] = id;
+            frequencies[position] = frequency;
+            size++;
+        }
+
+        void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Per-question data needed for filtering, length normalization and removal.
+     */
+    private record Document(String category, String difficulty, int length, String[] terms) {
+    }
+
+    /**
+     * Filters and BM25 statistics of one search; runs under the read lock.
+     */
+    private final class Query {
+
+        private final String category;
+
+        private final String difficulty;
+
+        private final int documentCount;
+
+        private final double averageLength;
+
+        private Query(String category, String difficulty, int documentCount, double averageLength) {
+            this.category = category;
+            this.difficulty = difficulty;
+            this.documentCount = documentCount;
+            this.averageLength = averageLength;
+        }
+
+        double idf(Postings list) {
+            return Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+        }
+
+        /**
+         * Adds one term's BM25 contribution to the scores of the questions in its posting list.
+         *
+         * @param scores scores to update
+         * @param exclude questions to skip (null for none)
+         * @param addCandidates whether questions not yet in {@code scores} are added
+         */
+        void accumulate(Postings list, Map<Integer, double[]> scores, Map<Integer, double[]> exclude, boolean addCandidates) {
+            double idf = idf(list);
+            for (int i = 0; i < list.size; i++) {
+                int id = list.ids[i];
+                double[] score = scores.get(id);
+                Document document = null;
+                if (score == null) {
+                    if (!addCandidates || (exclude != null && exclude.containsKey(id))) {
+                        continue;
+                    }
+                    document = documents.get(id);
+                    if (!matches(document, category, difficulty)) {
+                        continue;
+                    }
+                    score = new double[1];
+                    scores.put(id, score);
+                }
+                int frequency = list.frequencies[i];
+                int length = (document != null ? document : documents.get(id)).length();
+                score[0] += idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+            }
+        }
+    }
+
+    /**
+     * A candidate question and its accumulated score.
+     */
+    private record Hit(int id, double score) {
+    }
+
+    /**
+     * An add or delete that arrived while a rebuild was running, replayed onto the rebuilt index.
+     */
+    private record Change(Question question, boolean deleted) {
+    }
+
+    private final QuestionRepository questionRepository;
+
+    private final QuestionCatalog questionCatalog;
+
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+
+    private Map<Integer, Document> documents = new HashMap<>();
+
+    private long totalLength;
+
+    private List<Change> pendingChanges; // Non-null while a rebuild runs; guarded by the write lock
+
+    private final Object reloadLock = new Object(); // One rebuild at a time
+
+    /**
+     * @param questionRepository repository used to load questions when the catalog is disabled
+     * @param questionCatalog catalog the index is built from when enabled
+     * @param enabled whether search uses the index
+     */
+    @Autowired
+    public QuestionSearchIndex(QuestionRepository questionRepository, QuestionCatalog questionCatalog,
+                               @Value("${question.search.enabled:true}") boolean enabled) {
+        this.questionRepository = questionRepository;
+        this.questionCatalog = questionCatalog;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            questionCatalog.loadIfNeeded();
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the question catalog, or from the database if the catalog is disabled.
+     * Searches keep using the old index meanwhile. Adds and deletes that arrive during the rebuild
+     * are applied to the old index and recorded, then replayed onto the new one when it is swapped
+     * in, so none is lost whether or not the rebuild's source already contained it.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                rebuild();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void rebuild() {
+        Collection<Question> questions = questionCatalog.isEnabled()
+                ? questionCatalog.snapshot().questions()
+                : questionRepository.findAll();
+        Map<String, Postings> newPostings = new HashMap<>();
+        Map<Integer, Document> newDocuments = new HashMap<>(Math.max(16, questions.size() * 4 / 3 + 1));
+        long newTotalLength = 0;
+        // Ascending ids let every posting list be built by appending
+        Question[] sorted = questions.toArray(Question[]::new);
+        Arrays.sort(sorted, Comparator.comparingInt(Question::getId));
+        for (Question question : sorted) {
+            newTotalLength += index(question, newPostings, newDocuments);
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documents = newDocuments;
+            totalLength = newTotalLength;
+            // Saves and deletes are idempotent, so replaying one already in the source is harmless
+            for (Change change : pendingChanges) {
+                applyLocked(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether search uses the index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return number of indexed questions
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the questions best matching a keyword query.
+     *
+     * @param query free-text keywords
+     * @param category only return questions in this category (null for any)
+     * @param difficulty only return questions with this difficulty (null for any)
+     * @param limit maximum number of results
+     * @return matching question ids, best match first
+     */
+    public List<Integer> search(String query, String category, String difficulty, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query).keySet());
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+            int commonThreshold = (int) Math.max(1, documentCount * COMMON_TERM_RATIO);
+
+            List<Postings> selective = new ArrayList<>(terms.size());
+            List<Postings> common = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null && list.size > 0) {
+                    (list.size <= commonThreshold ? selective : common).add(list);
+                }
+            }
+
+            Query scoring = new Query(category, difficulty, documentCount, averageLength);
+            Map<Integer, double[]> scores = new HashMap<>();
+            if (selective.isEmpty()) {
+                common.forEach(list -> scoring.accumulate(list, scores, null, true));
+                return topK(scores, limit);
+            }
+
+            // Rare terms pick the candidates; common terms then add to the candidates' scores
+            selective.forEach(list -> scoring.accumulate(list, scores, null, true));
+            double commonBound = 0;
+            for (Postings list : common) {
+                scoring.accumulate(list, scores, null, false);
+                commonBound += scoring.idf(list) * (K1 + 1); // Highest score the term can give any question
+            }
+            if (scores.size() < limit || kthBest(scores, limit) < commonBound) {
+                // Questions matching only common terms could still make the top results
+                Map<Integer, double[]> commonOnly = new HashMap<>();
+                common.forEach(list -> scoring.accumulate(list, commonOnly, scores, true));
+                scores.putAll(commonOnly);
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        if (!enabled) {
+            return;
+        }
+        update(new Change(question, false));
+    }
+
+    @Override
+    public void onQuestionDeleted(Question question) {
+        if (!enabled) {
+            return;
+        }
+        update(new Change(question, true));
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Splits text into lower-case letter/digit tokens and counts them.
+     *
+     * @param text the text to split; may be null
+     * @return token counts, in first-occurrence order
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        addTokens(text, 1, counts);
+        return counts;
+    }
+
+    private void update(Change change) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(change);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(Change change) {
+        removeLocked(change.question().getId());
+        if (!change.deleted()) {
+            totalLength += index(change.question(), postings, documents);
+        }
+    }
+
+    /**
+     * Removes a question from the posting lists of the terms it was indexed under.
+     */
+    private void removeLocked(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String term : document.terms()) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a question to the given index maps.
+     *
+     * @return the weighted length of the question
+     */
+    private static int index(Question question, Map<String, Postings> postings, Map<Integer, Document> documents) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(question.getQuestionTitle(), TITLE_WEIGHT, frequencies);
+        addTokens(question.getOption1(), 1, frequencies);
+        addTokens(question.getOption2(), 1, frequencies);
+        addTokens(question.getOption3(), 1, frequencies);
+        addTokens(question.getOption4(), 1, frequencies);
+
+        int length = 0;
+        String[] terms = new String[frequencies.size()];
+        int position = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            terms[position++] = list.term;
+            list.add(question.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(question.getId(), new Document(question.getCategory(), question.getDifficulty(), length, terms));
+        return length;
+    }
+
+    private static void addTokens(String text, int weight, Map<String, Integer> counts) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                counts.merge(text.substring(start, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean matches(Document document, String category, String difficulty) {
+        return document != null
+                && (category == null || Objects.equals(category, document.category()))
+                && (difficulty == null || Objects.equals(difficulty, document.difficulty()));
+    }
+
+    /**
+     * @return the k-th highest score; requires at least k scores
+     */
+    private static double kthBest(Map<Integer, double[]> scores, int k) {
+        PriorityQueue<Double> heap = new PriorityQueue<>(k);
+        for (double[] score : scores.values()) {
+            if (heap.size() < k) {
+                heap.add(score[0]);
+            } else if (score[0] > heap.peek()) {
+                heap.poll();
+                heap.add(score[0]);
+            }
+        }
+        return heap.peek();
+    }
+
+    /**
+     * Keeps the {@code limit} best hits in a min-heap, then returns their ids best first
+     * (ties broken by ascending id).
+     */
+    private static List<Integer> topK(Map<Integer, double[]> scores, int limit) {
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::id, Comparator.reverseOrder());
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, scores.size())), worstFirst);
+        scores.forEach((id, score) -> {
+            Hit hit = new Hit(id, score[0]);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (worstFirst.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        });
+        Hit[] best = heap.toArray(Hit[]::new);
+        Arrays.sort(best, worstFirst.reversed());
+        List<Integer> ids = new ArrayList<>(best.length);
+        for (Hit hit : best) {
+            ids.add(hit.id());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,267 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background pool of ready-made random question-id sets for frequently requested (category, size) pairs.
+ *
+ * Once a pair has been requested {@code question.pool.hot-threshold} times it gets a
+ * {@link QuizSetRing} that a background thread keeps topped up with sets drawn by the
+ * {@link QuestionSampler}. Requests then take a set in O(1) without sampling on the request thread.
+ * Request counts of pairs that are not pooled yet are halved every
+ * {@code question.pool.decay-interval-ms}, so pairs that were only requested long ago make room
+ * for new ones.
+ *
+ * Every set is tagged with its category's generation. Adding or deleting a question bumps the
+ * generation, so sets drawn from the old catalog are discarded instead of being served.
+ *
+ * Enabled with {@code question.pool.enabled}; requires the in-memory sampling engine.
+ */
+@Component
+public class QuizSetPool implements QuestionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizSetPool.class);
+
+    /**
+     * A (category, size) pair for which sets are pooled.
+     */
+    private record PoolKey(String category, int size) {
+    }
+
+    private final QuestionSampler questionSampler;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    private final long hotThreshold;
+
+    private final int maxKeys;
+
+    private final long refillIntervalMillis;
+
+    private final long decayIntervalMillis;
+
+    private final Map<PoolKey, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    private final Map<PoolKey, QuizSetRing> rings = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final Counter served;
+
+    private final Counter fallbacks;
+
+    private final Counter refills;
+
+    private final Counter discarded;
+
+    private final Counter refillFailures;
+
+    private ScheduledExecutorService refiller;
+
+    /**
+     * @param questionSampler sampler used to draw sets
+     * @param meterRegistry registry for pool metrics
+     * @param enabled whether sets are pooled
+     * @param capacity number of sets kept ready per (category, size) pair
+     * @param hotThreshold requests for a pair before it gets a pool
+     * @param maxKeys maximum number of pooled (category, size) pairs
+     * @param refillIntervalMillis delay between background refill passes
+     * @param decayIntervalMillis delay between halvings of the request counts of pairs not pooled yet
+     */
+    @Autowired
+    public QuizSetPool(QuestionSampler questionSampler, MeterRegistry meterRegistry,
+                       @Value("${question.pool.enabled:false}") boolean enabled,
+                       @Value("${question.pool.capacity:64}") int capacity,
+                       @Value("${question.pool.hot-threshold:20}") long hotThreshold,
+                       @Value("${question.pool.max-keys:128}") int maxKeys,
+                       @Value("${question.pool.refill-interval-ms:20}") long refillIntervalMillis,
+                       @Value("${question.pool.decay-interval-ms:10000}") long decayIntervalMillis) {
+        this.questionSampler = questionSampler;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.hotThreshold = hotThreshold;
+        this.maxKeys = maxKeys;
+        this.refillIntervalMillis = refillIntervalMillis;
+        this.decayIntervalMillis = decayIntervalMillis;
+
+        this.served = Counter.builder("question.pool.requests").tag("result", "served")
+                .description("Quiz set requests answered from the pool").register(meterRegistry);
+        this.fallbacks = Counter.builder("question.pool.requests").tag("result", "fallback")
+                .description("Quiz set requests that had to sample on the request thread").register(meterRegistry);
+        this.refills = Counter.builder("question.pool.refills")
+                .description("Quiz sets generated in the background").register(meterRegistry);
+        this.discarded = Counter.builder("question.pool.discarded")
+                .description("Pooled quiz sets discarded because their category changed").register(meterRegistry);
+        this.refillFailures = Counter.builder("question.pool.refill.failures")
+                .description("Background refill passes that failed").register(meterRegistry);
+        Gauge.builder("question.pool.depth", rings, pools -> pools.values().stream().mapToInt(QuizSetRing::size).sum())
+                .description("Quiz sets ready across all pools").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (isActive()) {
+            refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "quiz-set-pool-refill");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refiller.scheduleWithFixedDelay(this::refillSafely, refillIntervalMillis, refillIntervalMillis, TimeUnit.MILLISECONDS);
+            refiller.scheduleWithFixedDelay(this::decayRequestCounts, decayIntervalMillis, decayIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refiller != null) {
+            refiller.shutdownNow();
+        }
+    }
+
+    /**
+     * @return whether the pool is enabled and the in-memory sampler is available
+     */
+    public boolean isActive() {
+        return enabled && questionSampler.isActive();
+    }
+
+    /**
+     * Takes a ready-made set of question ids, or records the request and returns null so the caller
+     * samples on its own thread.
+     *
+     * @param category the category to draw from
+     * @param size number of ids wanted
+     * @return a set drawn from the current catalog, or null if none is ready
+     */
+    public int[] poll(String category, int size) {
+        PoolKey key = new PoolKey(category, size);
+        QuizSetRing ring = rings.get(key);
+        if (ring != null) {
+            long generation = generation(category).get();
+            for (QuizSetRing.Entry entry = ring.poll(); entry != null; entry = ring.poll()) {
+                if (entry.generation() == generation) {
+                    served.increment();
+                    return entry.questionIds();
+                }
+                discarded.increment();
+            }
+        } else {
+            recordRequest(key);
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        generation(question.getCategory()).incrementAndGet();
+    }
+
+    @Override
+    public void onQuestionDeleted(Question question) {
+        generation(question.getCategory()).incrementAndGet();
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private void recordRequest(PoolKey key) {
+        if (!isActive() || key.size() <= 0 || rings.size() >= maxKeys) {
+            return;
+        }
+        LongAdder count = requestCounts.get(key);
+        if (count == null) {
+            if (requestCounts.size() >= maxKeys * 4 || questionSampler.sampleCategory(key.category(), 1).length == 0) {
+                return; // Bound the tracking map and ignore unknown categories
+            }
+            count = requestCounts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+        if (count.sum() >= hotThreshold && rings.putIfAbsent(key, new QuizSetRing(capacity)) == null) {
+            requestCounts.remove(key);
+            Gauge.builder("question.pool.depth.key", rings, pools -> {
+                        QuizSetRing ring = pools.get(key);
+                        return ring == null ? 0 : ring.size();
+                    })
+                    .description("Quiz sets ready for one (category, size) pair")
+                    .tag("category", key.category())
+                    .tag("size", String.valueOf(key.size()))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Tops up every ring to its capacity with sets drawn from the current catalog.
+     */
+    void refillAll() {
+        rings.forEach((key, ring) -> {
+            AtomicLong generation = generation(key.category());
+            while (ring.size() < ring.capacity()) {
+                long current = generation.get();
+                int[] questionIds = questionSampler.sampleCategory(key.category(), key.size());
+                if (!ring.offer(new QuizSetRing.Entry(questionIds, current))) {
+                    break;
+                }
+                refills.increment();
+            }
+        });
+    }
+
+    private void refillSafely() {
+        try {
+            refillAll();
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; requests fall back to sampling meanwhile
+            refillFailures.increment();
+            log.warn("Could not refill the quiz set pool: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Halves the request count of every pair that is not pooled yet and forgets pairs whose count
+     * drops to zero, so the tracking map does not fill up with pairs that are no longer requested.
+     */
+    void decayRequestCounts() {
+        requestCounts.entrySet().removeIf(entry -> {
+            long count = entry.getValue().sum();
+            entry.getValue().add(-(count - count / 2));
+            return count / 2 == 0;
+        });
+    }
+
+    /**
+     * @return number of (category, size) pairs whose requests are being counted
+     */
+    int trackedPairs() {
+        return requestCounts.size();
+    }
+
+    private AtomicLong generation(String category) {
+        return generations.computeIfAbsent(category, c -> new AtomicLong());
+    }
+}
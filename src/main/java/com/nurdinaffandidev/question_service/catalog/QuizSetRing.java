@@ -0,0 +1,110 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer/multi-consumer ring buffer of ready-made quiz sets.
+ *
+ * Each slot carries a sequence number telling producers and consumers whether it is free or full
+ * for their current lap (D. Vyukov's bounded MPMC queue), so offer and poll are a single CAS
+ * in the uncontended case and never block.
+ */
+final class QuizSetRing {
+
+    /**
+     * A pre-generated set of question ids, tagged with the category generation it was sampled from.
+     */
+    record Entry(int[] questionIds, long generation) {
+    }
+
+    private final int mask;
+
+    private final AtomicReferenceArray<Entry> slots;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity requested capacity, rounded up to a power of two
+     */
+    QuizSetRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return the ring capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return approximate number of entries in the ring
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Adds an entry unless the ring is full.
+     *
+     * @param entry the entry to add
+     * @return false if the ring was full
+     */
+    boolean offer(Entry entry) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest entry.
+     *
+     * @return the entry, or null if the ring is empty
+     */
+    Entry poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Entry entry = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return entry;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of question ids, in the style of a Roaring bitmap.
+ *
+ * Ids are grouped by their upper 16 bits; each group of up to 65536 ids is stored as a sorted
+ * {@code short[]} while it holds at most {@value #ARRAY_MAX} ids (2 bytes per id), and as a 8 KB
+ * bitmap above that. A user who has seen a few hundred questions therefore costs well under
+ * 1 KB, and the size never exceeds 8 KB per 65536-id range.
+ *
+ * Not thread-safe.
+ */
+final class SeenQuestionSet {
+
+    // Above this many ids, a bitmap (65536 bits = 8 KB) is smaller than a sorted short array
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    // Rough per-object cost of a JVM object or array header, for size estimates
+    private static final int OBJECT_OVERHEAD = 16;
+
+    private int[] keys = new int[0]; // Upper 16 bits of the ids in each container, ascending
+
+    private Object[] containers = new Object[0]; // short[] (sorted, length = capacity) or long[] bitmap
+
+    private int[] sizes = new int[0]; // Ids per container
+
+    private int cardinality;
+
+    /**
+     * @param id question id
+     * @return whether the id is in the set
+     */
+    boolean contains(int id) {
+        int index = Arrays.binarySearch(keys, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) id;
+        Object container = containers[index];
+        if (container instanceof long[] bitmap) {
+            return (bitmap[low >>> 6] & (1L << low)) != 0;
+        }
+        return binarySearch((short[]) container, sizes[index], low) >= 0;
+    }
+
+    /**
+     * @param id question id
+     * @return whether the id was added (false if it was already present)
+     */
+    boolean add(int id) {
+        int high = id >>> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[] bitmap) {
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            bitmap[low >>> 6] |= bit;
+        } else {
+            short[] values = (short[]) container;
+            int size = sizes[index];
+            int position = binarySearch(values, size, low);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (size == ARRAY_MAX) {
+                long[] bitmap = toBitmap(values, size);
+                bitmap[low >>> 6] |= 1L << low;
+                containers[index] = bitmap;
+            } else {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size + (size >> 1))));
+                    containers[index] = values;
+                }
+                System.arraycopy(values, position, values, position + 1, size - position);
+                values[position] = (short) low;
+            }
+        }
+        sizes[index]++;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return number of ids in the set
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Removes every id.
+     */
+    void clear() {
+        keys = new int[0];
+        containers = new Object[0];
+        sizes = new int[0];
+        cardinality = 0;
+    }
+
+    /**
+     * @return estimated heap footprint in bytes, including array headers
+     */
+    long sizeInBytes() {
+        long bytes = OBJECT_OVERHEAD + 3L * OBJECT_OVERHEAD + keys.length * (4L + 8L + 4L);
+        for (Object container : containers) {
+            bytes += OBJECT_OVERHEAD + (container instanceof long[] bitmap ? bitmap.length * 8L : ((short[]) container).length * 2L);
+        }
+        return bytes;
+    }
+
+    private void insertContainer(int index, int high) {
+        int length = keys.length;
+        int[] newKeys = new int[length + 1];
+        Object[] newContainers = new Object[length + 1];
+        int[] newSizes = new int[length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(sizes, 0, newSizes, 0, index);
+        System.arraycopy(keys, index, newKeys, index + 1, length - index);
+        System.arraycopy(containers, index, newContainers, index + 1, length - index);
+        System.arraycopy(sizes, index, newSizes, index + 1, length - index);
+        newKeys[index] = high;
+        newContainers[index] = new short[4];
+        keys = newKeys;
+        containers = newContainers;
+        sizes = newSizes;
+    }
+
+    private static long[] toBitmap(short[] values, int size) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < size; i++) {
+            char low = (char) values[i];
+            bitmap[low >>> 6] |= 1L << low;
+        }
+        return bitmap;
+    }
+
+    // Arrays.binarySearch on the unsigned value of each short
+    private static int binarySearch(short[] values, int size, char key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char value = (char) values[middle];
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+}
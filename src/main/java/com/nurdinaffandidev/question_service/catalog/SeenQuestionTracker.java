@@ -0,0 +1,223 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws questions a user has not been given before.
+ *
+ * For every (user key, category) pair a compressed {@link SeenQuestionSet} records the ids already
+ * handed out, and new draws sample only from the rest of the category. When fewer unseen questions
+ * remain than requested, the remaining ones are returned together with a fresh draw from the
+ * others, and the set starts over from that draw.
+ *
+ * Sets are kept in LRU order and evicted once there are more than {@code question.seen.max-users}
+ * of them or their estimated size exceeds {@code question.seen.max-bytes}; an evicted user simply
+ * starts over. Enabled with {@code question.seen.enabled}.
+ */
+@Component
+public class SeenQuestionTracker {
+
+    // Rejection sampling gives up after this many draws per requested id and filters the category instead
+    private static final int MAX_REJECTIONS_PER_ID = 16;
+
+    // Estimated cost of a map entry, its Entry and key String besides the key characters and the set itself
+    private static final int ENTRY_OVERHEAD = 120;
+
+    private final QuestionCatalog questionCatalog;
+
+    private final boolean enabled;
+
+    private final int maxUsers;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, Entry> seenSets = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes; // Sum of Entry.accountedBytes, guarded by seenSets
+
+    private final Counter evictions;
+
+    private final Counter resets;
+
+    /**
+     * @param questionCatalog catalog providing per-category id arrays
+     * @param meterRegistry registry for the size, eviction and reset metrics
+     * @param enabled whether generation requests with a user key avoid repeats
+     * @param maxUsers maximum number of (user, category) seen-sets kept
+     * @param maxBytes maximum estimated size of all seen-sets together
+     */
+    @Autowired
+    public SeenQuestionTracker(QuestionCatalog questionCatalog, MeterRegistry meterRegistry,
+                               @Value("${question.seen.enabled:true}") boolean enabled,
+                               @Value("${question.seen.max-users:100000}") int maxUsers,
+                               @Value("${question.seen.max-bytes:67108864}") long maxBytes) {
+        this.questionCatalog = questionCatalog;
+        this.enabled = enabled;
+        this.maxUsers = Math.max(1, maxUsers);
+        this.maxBytes = maxBytes;
+
+        Gauge.builder("question.seen.sets", this, SeenQuestionTracker::size)
+                .description("Per-user seen-question sets kept in memory")
+                .register(meterRegistry);
+        Gauge.builder("question.seen.bytes", this, SeenQuestionTracker::sizeInBytes)
+                .description("Estimated heap used by the seen-question sets")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("question.seen.evictions")
+                .description("Seen-question sets dropped to stay within the user and memory limits")
+                .register(meterRegistry);
+        this.resets = Counter.builder("question.seen.resets")
+                .description("Seen-question sets started over because too few unseen questions were left")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Needs the in-memory catalog for the category id arrays.
+     * @return whether {@link #sampleUnseen(String, String, int)} can be used
+     */
+    public boolean isActive() {
+        return enabled && questionCatalog.isEnabled();
+    }
+
+    /**
+     * Selects up to {@code count} random ids from a category that the user has not been given yet,
+     * and records them as seen.
+     *
+     * @param userKey opaque key identifying the user
+     * @param category the category to sample from
+     * @param count number of ids wanted
+     * @return selected ids; fewer than {@code count} only if the category is smaller
+     */
+    public int[] sampleUnseen(String userKey, String category, int count) {
+        int[] ids = questionCatalog.snapshot().idsForCategory(category);
+        if (ids.length == 0 || count <= 0) {
+            return new int[0];
+        }
+        String key = userKey + '\u0000' + category;
+        Entry entry;
+        synchronized (seenSets) {
+            entry = seenSets.computeIfAbsent(key, k -> new Entry());
+        }
+
+        SeenQuestionSet seen = entry.seen;
+        int[] selected;
+        long size;
+        synchronized (seen) {
+            selected = select(ids, seen, count);
+            for (int id : selected) {
+                seen.add(id);
+            }
+            size = ENTRY_OVERHEAD + 2L * key.length() + seen.sizeInBytes();
+        }
+
+        synchronized (seenSets) {
+            if (seenSets.get(key) == entry) { // Not evicted meanwhile
+                totalBytes += size - entry.accountedBytes;
+                entry.accountedBytes = size;
+            }
+            evictWhileOverLimits();
+        }
+        return selected;
+    }
+
+    private int[] select(int[] ids, SeenQuestionSet seen, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = ids.length;
+
+        // Mostly unseen: draw random positions and skip seen ids, without scanning the category
+        if (seen.cardinality() <= n / 2 && count <= n - seen.cardinality()) {
+            Set<Integer> chosen = new HashSet<>(count * 2);
+            int[] selected = new int[count];
+            int found = 0;
+            for (int attempts = 0; found < count && attempts < count * MAX_REJECTIONS_PER_ID; attempts++) {
+                int id = ids[random.nextInt(n)];
+                if (!seen.contains(id) && chosen.add(id)) {
+                    selected[found++] = id;
+                }
+            }
+            if (found == count) {
+                return selected;
+            }
+        }
+
+        int[] unseen = new int[n];
+        int unseenCount = 0;
+        for (int id : ids) {
+            if (!seen.contains(id)) {
+                unseen[unseenCount++] = id;
+            }
+        }
+        if (unseenCount >= count || unseenCount == n) {
+            return QuestionSampler.sample(Arrays.copyOf(unseen, unseenCount), count, random);
+        }
+
+        // Ran out: hand out what is left, top up from the questions already seen, and start over
+        resets.increment();
+        int[] rest = new int[n - unseenCount];
+        int restCount = 0;
+        for (int id : ids) {
+            if (seen.contains(id)) {
+                rest[restCount++] = id;
+            }
+        }
+        int[] topUp = QuestionSampler.sample(rest, count - unseenCount, random);
+        int[] selected = Arrays.copyOf(unseen, unseenCount + topUp.length);
+        System.arraycopy(topUp, 0, selected, unseenCount, topUp.length);
+        for (int i = selected.length - 1; i > 0; i--) { // Mix the left-over ids into the draw
+            int j = random.nextInt(i + 1);
+            int tmp = selected[i];
+            selected[i] = selected[j];
+            selected[j] = tmp;
+        }
+        seen.clear();
+        return selected;
+    }
+
+    private void evictWhileOverLimits() {
+        var eldest = seenSets.entrySet().iterator();
+        while (eldest.hasNext() && (seenSets.size() > maxUsers || totalBytes > maxBytes)) {
+            totalBytes -= eldest.next().getValue().accountedBytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * @return number of seen-sets kept
+     */
+    public int size() {
+        synchronized (seenSets) {
+            return seenSets.size();
+        }
+    }
+
+    /**
+     * @return estimated heap used by the seen-sets, in bytes
+     */
+    public long sizeInBytes() {
+        synchronized (seenSets) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Seen-set of one (user, category) pair, with the size counted in {@link #totalBytes}.
+     */
+    private static final class Entry {
+
+        final SeenQuestionSet seen = new SeenQuestionSet();
+
+        long accountedBytes; // Guarded by seenSets
+    }
+}
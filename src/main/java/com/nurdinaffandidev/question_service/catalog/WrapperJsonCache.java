@@ -0,0 +1,195 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes {@link QuestionWrapper} lists to JSON from cached per-question fragments.
+ *
+ * The UTF-8 JSON of each wrapper is produced by Jackson once and kept by question id; a response
+ * body is built by copying the fragments into a buffer borrowed from a small shared pool, so reuse
+ * does not depend on which thread handles a request; when all pooled buffers are in use, a
+ * temporary one is allocated.
+ * A fragment is only used while it was rendered from an equal wrapper, and entries are dropped when
+ * their question changes, so a response never contains stale text.
+ *
+ * At most {@code question.json-cache.max-entries} fragments are kept; wrappers beyond that are
+ * serialized on every call. Enabled with {@code question.json-cache.enabled}.
+ */
+@Component
+@Order(3)
+public class WrapperJsonCache implements QuestionChangeListener {
+
+    // Buffers that grew beyond this are not kept, so one huge response does not pin memory
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    // A buffer is only held while fragments are copied, which needs no I/O, so about one per core is busy at a time
+    private static final int POOLED_BUFFERS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final ObjectWriter wrapperWriter;
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final Map<Integer, Fragment> fragments = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<Buffer> buffers = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    /**
+     * @param objectMapper mapper configured by Spring MVC, used to render fragments
+     * @param meterRegistry registry for the hit, miss and size metrics
+     * @param enabled whether fragments are cached
+     * @param maxEntries maximum number of cached fragments
+     */
+    @Autowired
+    public WrapperJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${question.json-cache.enabled:true}") boolean enabled,
+                            @Value("${question.json-cache.max-entries:100000}") int maxEntries) {
+        this.wrapperWriter = objectMapper.writerFor(QuestionWrapper.class);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+
+        this.hits = Counter.builder("question.json.cache.requests").tag("result", "hit")
+                .description("Wrapper JSON fragments served from the cache or rendered by Jackson")
+                .register(meterRegistry);
+        this.misses = Counter.builder("question.json.cache.requests").tag("result", "miss")
+                .description("Wrapper JSON fragments served from the cache or rendered by Jackson")
+                .register(meterRegistry);
+        Gauge.builder("question.json.cache.size", fragments, Map::size)
+                .description("Cached wrapper JSON fragments")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether fragments are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Serializes wrappers as a JSON array.
+     *
+     * @param wrappers the wrappers, in response order
+     * @return UTF-8 JSON
+     */
+    public byte[] toJsonArray(List<QuestionWrapper> wrappers) {
+        Buffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new Buffer();
+        }
+        try {
+            buffer.write('[');
+            for (int i = 0; i < wrappers.size(); i++) {
+                if (i > 0) {
+                    buffer.write(',');
+                }
+                buffer.writeBytes(fragment(wrappers.get(i)));
+            }
+            buffer.write(']');
+            return buffer.toByteArray();
+        } finally {
+            if (buffer.capacity() <= MAX_RETAINED_BUFFER) {
+                buffer.reset();
+                buffers.offer(buffer); // Dropped when the pool is already full
+            }
+        }
+    }
+
+    private byte[] fragment(QuestionWrapper wrapper) {
+        if (!enabled) {
+            return render(wrapper);
+        }
+        Fragment cached = fragments.get(wrapper.getQuestionId());
+        if (cached != null && cached.source().equals(wrapper)) {
+            hits.increment();
+            return cached.json();
+        }
+        misses.increment();
+        byte[] json = render(wrapper);
+        if (cached != null || fragments.size() < maxEntries) {
+            fragments.put(wrapper.getQuestionId(), new Fragment(wrapper, json));
+        }
+        return json;
+    }
+
+    private byte[] render(QuestionWrapper wrapper) {
+        try {
+            return wrapperWriter.writeValueAsBytes(wrapper);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return number of idle pooled buffers
+     */
+    int pooledBuffers() {
+        return buffers.size();
+    }
+
+    /**
+     * @return number of cached fragments
+     */
+    public int size() {
+        return fragments.size();
+    }
+
+    @Override
+    public void onQuestionSaved(Question question) {
+        fragments.remove(question.getId());
+    }
+
+    @Override
+    public void onQuestionDeleted(Question question) {
+        fragments.remove(question.getId());
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        fragments.clear();
+    }
+
+    /**
+     * JSON of one wrapper, with the wrapper it was rendered from.
+     */
+    private record Fragment(QuestionWrapper source, byte[] json) {
+    }
+
+    /**
+     * Reusable output buffer exposing its capacity.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(8192);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
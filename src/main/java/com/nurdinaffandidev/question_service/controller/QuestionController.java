@@ -1,28 +1,72 @@
 package com.nurdinaffandidev.question_service.controller;
 
+import com.nurdinaffandidev.question_service.admission.Admission;
+import com.nurdinaffandidev.question_service.admission.EndpointGroup;
+import com.nurdinaffandidev.question_service.catalog.CatalogVersions;
+import com.nurdinaffandidev.question_service.catalog.WrapperJsonCache;
+import com.nurdinaffandidev.question_service.model.BatchResult;
+import com.nurdinaffandidev.question_service.model.CatalogStats;
+import com.nurdinaffandidev.question_service.model.ImportReport;
 import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionPage;
 import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import com.nurdinaffandidev.question_service.model.QuizMixRequest;
 import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.model.QuizSubmission;
+import com.nurdinaffandidev.question_service.model.SubmissionScore;
+import com.nurdinaffandidev.question_service.service.QuestionExportService;
+import com.nurdinaffandidev.question_service.service.QuestionImportService;
 import com.nurdinaffandidev.question_service.service.QuestionService;
+import com.nurdinaffandidev.question_service.service.SubmissionScoringService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("question")
 public class QuestionController {
 
+    // Response header listing requested ids that were not found (partial batch mode)
+    static final String MISSING_IDS_HEADER = "X-Missing-Question-Ids";
+
     private final QuestionService questionService;
 
-    // Constructor-based dependency injection for QuestionService
+    private final QuestionExportService questionExportService;
+
+    private final QuestionImportService questionImportService;
+
+    private final SubmissionScoringService submissionScoringService;
+
+    private final WrapperJsonCache wrapperJsonCache;
+
+    private final CatalogVersions catalogVersions;
+
+    // Constructor-based dependency injection for the question, export, import and scoring services,
+    // the pre-serialized wrapper JSON cache and the catalog versions used as ETags
     @Autowired
-    public QuestionController(QuestionService questionService) {
+    public QuestionController(QuestionService questionService, QuestionExportService questionExportService,
+                              QuestionImportService questionImportService,
+                              SubmissionScoringService submissionScoringService,
+                              WrapperJsonCache wrapperJsonCache, CatalogVersions catalogVersions) {
         this.questionService = questionService;
+        this.questionExportService = questionExportService;
+        this.questionImportService = questionImportService;
+        this.submissionScoringService = submissionScoringService;
+        this.wrapperJsonCache = wrapperJsonCache;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
@@ -37,24 +81,125 @@ public class QuestionController {
     /**
      * Get all questions in the system.
      * Example: GET /question/allQuestions
-     * @return List of all Question entities with HTTP 200 OK
+     * The response carries an ETag that changes with every add or delete; a request whose
+     * If-None-Match matches it is answered with 304 Not Modified without querying the database.
+     * @param webRequest current request, for the If-None-Match check
+     * @param accept Accept request header
+     * @return List of all Question entities with HTTP 200 OK (304 if unchanged)
      */
     @GetMapping("/allQuestions")
-    public ResponseEntity<List<Question>> getAllQuestion() {
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<List<Question>> getAllQuestion(WebRequest webRequest,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String etag = catalogVersions.catalogTag(representation(accept));
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         return new ResponseEntity<>(questionService.getAllQuestion(), HttpStatus.OK);
     }
 
+    /**
+     * Get one page of all questions using keyset (id-based) pagination.
+     * Example: GET /question/allQuestions?limit=100&after=250
+     * @param after Cursor: the nextCursor of the previous page (omit for the first page)
+     * @param limit Maximum number of questions in the page
+     * @return QuestionPage with the questions and the next cursor and HTTP 200 OK
+     */
+    @GetMapping(value = "/allQuestions", params = "limit")
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<QuestionPage> getAllQuestionPage(@RequestParam(defaultValue = "0") int after,
+                                                           @RequestParam int limit) {
+        return new ResponseEntity<>(questionService.getQuestionPage(after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Stream all questions from a database cursor, as a JSON array or NDJSON.
+     * Example: GET /question/allQuestions/stream?format=ndjson
+     * @param format "json" (default) for a JSON array, "ndjson" for one question per line
+     * @return Streaming response body and HTTP 200 OK
+     */
+    @GetMapping("/allQuestions/stream")
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<StreamingResponseBody> streamAllQuestions(@RequestParam(defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? QuestionImportService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(out -> questionExportService.exportAll(out, ndjson));
+    }
+
     /**
      * Get questions filtered by category.
      * Example: GET /question/category/{category}
+     * The response carries an ETag that changes with every add or delete in the category; a request
+     * whose If-None-Match matches it is answered with 304 Not Modified without querying the database.
      * @param category Path variable representing question category
-     * @return List of questions for the given category with HTTP 200 OK
+     * @param webRequest current request, for the If-None-Match check
+     * @param accept Accept request header
+     * @return List of questions for the given category with HTTP 200 OK (304 if unchanged)
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Question>> getQuestionsByCategory(@PathVariable String category) {
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<List<Question>> getQuestionsByCategory(@PathVariable String category, WebRequest webRequest,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        String etag = catalogVersions.categoryTag(category, representation(accept));
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         return new ResponseEntity<>(questionService.getQuestionsByCategory(category), HttpStatus.OK);
     }
 
+    /**
+     * Get one page of a category's questions using keyset (id-based) pagination.
+     * Example: GET /question/category/{category}?limit=100&after=250
+     * @param category Path variable representing question category
+     * @param after Cursor: the nextCursor of the previous page (omit for the first page)
+     * @param limit Maximum number of questions in the page
+     * @return QuestionPage with the questions and the next cursor and HTTP 200 OK
+     */
+    @GetMapping(value = "/category/{category}", params = "limit")
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<QuestionPage> getQuestionPageByCategory(@PathVariable String category,
+                                                                  @RequestParam(defaultValue = "0") int after,
+                                                                  @RequestParam int limit) {
+        return new ResponseEntity<>(questionService.getQuestionPageByCategory(category, after, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Stream a category's questions from a database cursor, as a JSON array or NDJSON.
+     * Example: GET /question/category/{category}/stream?format=ndjson
+     * @param category Path variable representing question category
+     * @param format "json" (default) for a JSON array, "ndjson" for one question per line
+     * @return Streaming response body and HTTP 200 OK
+     */
+    @GetMapping("/category/{category}/stream")
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<StreamingResponseBody> streamQuestionsByCategory(@PathVariable String category,
+                                                                           @RequestParam(defaultValue = "json") String format) {
+        questionExportService.checkCategoryExists(category);
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? QuestionImportService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(out -> questionExportService.exportCategory(category, out, ndjson));
+    }
+
+    /**
+     * Search questions by keywords in their title and options, best match first.
+     * Example: GET /question/search?q=java+keyword&category=Java&difficulty=Easy&limit=20
+     * @param query keywords to search for
+     * @param category optional category filter
+     * @param difficulty optional difficulty filter
+     * @param limit maximum number of results (default 20)
+     * @return matching questions with HTTP 200 OK
+     */
+    @GetMapping("/search")
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<List<Question>> searchQuestions(@RequestParam("q") String query,
+                                                         @RequestParam(required = false) String category,
+                                                         @RequestParam(required = false) String difficulty,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(questionService.searchQuestions(query, category, difficulty, limit), HttpStatus.OK);
+    }
+
     /**
      * Get a single question by its ID.
      * Example: GET /question/?id=5
@@ -62,6 +207,7 @@ public class QuestionController {
      * @return Question entity with the given id and HTTP 200 OK
      */
     @GetMapping(value = "/", params = "id")
+    @Admission(EndpointGroup.READ)
     public ResponseEntity<Question> getQuestionById(@RequestParam int id) {
         return new ResponseEntity<>(questionService.getQuestionById(id), HttpStatus.OK);
     }
@@ -73,11 +219,28 @@ public class QuestionController {
      * @return Confirmation message with the new question's ID and HTTP 201 CREATED
      */
     @PostMapping("/add-question")
+    @Admission(EndpointGroup.WRITE)
     public ResponseEntity<String> addQuestion(@Valid @RequestBody Question question) {
         Question addedQuestion = questionService.addQuestion(question);
         return new ResponseEntity<>("Question successfully added, id: " + addedQuestion.getId(), HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk import questions from a streamed JSON array, NDJSON or CSV body (CSV needs a header row
+     * naming the Question fields). Rows are validated and inserted in JDBC batches as they arrive.
+     * Example: POST /question/import (Content-Type: text/csv)
+     * @param request HTTP request whose body is read as a stream
+     * @param contentType Content-Type of the upload
+     * @return ImportReport with counts, rows per second and per-row errors and HTTP 200 OK
+     */
+    @PostMapping(value = "/import", consumes = {"application/json", "application/x-ndjson", "text/csv"})
+    @Admission(EndpointGroup.WRITE)
+    public ResponseEntity<ImportReport> importQuestions(HttpServletRequest request,
+                                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        ImportReport report = questionImportService.importQuestions(request.getInputStream(), MediaType.parseMediaType(contentType));
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     /**
      * Delete a question by ID.
      * Example: DELETE /question/{id}
@@ -85,6 +248,7 @@ public class QuestionController {
      * @return The deleted Question entity and HTTP 200 OK
      */
     @DeleteMapping("/{id}")
+    @Admission(EndpointGroup.WRITE)
     public ResponseEntity<Question> deleteQuestion(@PathVariable int id) {
         Question questionToDelete = questionService.deleteQuestion(id);
         return new ResponseEntity<>(questionToDelete, HttpStatus.OK);
@@ -92,37 +256,99 @@ public class QuestionController {
 
     /**
      * Generate a list of questions for a given category and count.
-     * Example: GET /question/generate-questions?category=Java&numQuestions=5
+     * Example: GET /question/generate-questions?category=Java&numQuestions=5&userKey=alice
      * @param category Query parameter for question category
      * @param numQuestions Query parameter for number of questions to generate
+     * @param userKey Optional query parameter; questions already given to this user are not repeated
      * @return List of generated questions and HTTP 200 OK
      */
     @GetMapping("/generate-questions")
-    public ResponseEntity<List<Question>> generateQuestions(@RequestParam String category, @RequestParam int numQuestions) {
-        return new ResponseEntity<>(questionService.generateQuestions(category, numQuestions), HttpStatus.OK);
+    @Admission(EndpointGroup.GENERATE)
+    public ResponseEntity<List<Question>> generateQuestions(@RequestParam String category, @RequestParam int numQuestions,
+                                                            @RequestParam(required = false) String userKey) {
+        return new ResponseEntity<>(questionService.generateQuestions(category, numQuestions, userKey), HttpStatus.OK);
     }
 
     /**
      * Generate a list of question IDs for a given category and count.
-     * Example: GET /question/generate-question-ids?category=Java&numQuestions=5
+     * Example: GET /question/generate-question-ids?category=Java&numQuestions=5&userKey=alice
      * @param category Query parameter for question category
      * @param numQuestions Query parameter for number of question IDs to generate
+     * @param userKey Optional query parameter; questions already given to this user are not repeated
      * @return List of question IDs and HTTP 200 OK
      */
     @GetMapping("/generate-question-ids")
-    public ResponseEntity<List<Integer>> generateQuestionIds(@RequestParam String category, @RequestParam int numQuestions) {
-        return new ResponseEntity<>(questionService.generateQuestionIds(category, numQuestions), HttpStatus.OK);
+    @Admission(EndpointGroup.GENERATE)
+    public ResponseEntity<List<Integer>> generateQuestionIds(@RequestParam String category, @RequestParam int numQuestions,
+                                                             @RequestParam(required = false) String userKey) {
+        return new ResponseEntity<>(questionService.generateQuestionIds(category, numQuestions, userKey), HttpStatus.OK);
+    }
+
+    /**
+     * Generate question IDs from a mix of (category, difficulty) buckets.
+     * Example: POST /question/generate-question-ids/mix
+     * Body: {"buckets":[{"category":"Java","difficulty":"Easy","count":3}, ...], "allowPartial":false}
+     * @param request Request body with the buckets to draw and whether short buckets are allowed
+     * @return List of question IDs in bucket order and HTTP 200 OK (400 without buckets, 422 if a bucket is short)
+     */
+    @PostMapping("/generate-question-ids/mix")
+    @Admission(EndpointGroup.GENERATE)
+    public ResponseEntity<List<Integer>> generateQuestionIdsByMix(@Valid @RequestBody QuizMixRequest request) {
+        return new ResponseEntity<>(questionService.generateQuestionIdsByMix(request), HttpStatus.OK);
     }
 
     /**
      * Retrieve detailed QuestionWrapper objects based on a list of question IDs.
+     * Results keep the order of the requested IDs. When partial batches are enabled,
+     * IDs that were not found are listed in the X-Missing-Question-Ids header.
      * Example: POST /question/retrieve-wrapper-questions
-     * @param questionIds Request body list of question IDs
-     * @return List of QuestionWrapper objects and HTTP 200 OK
+     * The JSON array is assembled from pre-serialized per-question fragments (see {@link WrapperJsonCache}).
+     * Clients ranking application/cbor above application/json in Accept get CBOR instead.
+     * The response carries an ETag for the id list that changes with every add or delete; a request
+     * whose If-None-Match matches it is answered with 304 Not Modified without loading any question.
+     * @param questionIds Request body list of question IDs, as JSON or CBOR
+     * @param accept Accept request header
+     * @param ifNoneMatch If-None-Match request header
+     * @return List of QuestionWrapper objects and HTTP 200 OK (304 if unchanged)
      */
     @PostMapping("/retrieve-wrapper-questions")
-    public ResponseEntity<List<QuestionWrapper>> retrieveWrapperQuestions(@RequestBody List<Integer> questionIds) {
-        return new ResponseEntity<>(questionService.getWrapperQuestions(questionIds), HttpStatus.OK);
+    @Admission(EndpointGroup.READ)
+    public ResponseEntity<?> retrieveWrapperQuestions(@RequestBody List<Integer> questionIds,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Compared here: checkNotModified answers a matching If-None-Match on POST with 412
+        String etag = catalogVersions.idsTag(questionIds, representation(accept));
+        if (etag != null && matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        BatchResult<QuestionWrapper> result = questionService.getWrapperQuestions(questionIds);
+        HttpHeaders headers = missingIdsHeaders(result);
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (prefersCbor(accept)) {
+            headers.setContentType(MediaType.APPLICATION_CBOR);
+            return new ResponseEntity<>(result.getItems(), headers, HttpStatus.OK);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(wrapperJsonCache.toJsonArray(result.getItems()), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Async variant of retrieve-wrapper-questions: the lookups run on the request executor and the
+     * servlet thread is released meanwhile.
+     * Example: POST /question/retrieve-wrapper-questions/async
+     * @param questionIds Request body list of question IDs
+     * @return future of the JSON array of QuestionWrapper objects and HTTP 200 OK
+     */
+    @PostMapping("/retrieve-wrapper-questions/async")
+    @Admission(EndpointGroup.READ)
+    public CompletableFuture<ResponseEntity<byte[]>> retrieveWrapperQuestionsAsync(@RequestBody List<Integer> questionIds) {
+        return questionService.getWrapperQuestionsAsync(questionIds).thenApply(result -> {
+            HttpHeaders headers = missingIdsHeaders(result);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return new ResponseEntity<>(wrapperJsonCache.toJsonArray(result.getItems()), headers, HttpStatus.OK);
+        });
     }
 
     /**
@@ -132,7 +358,97 @@ public class QuestionController {
      * @return Integer score and HTTP 200 OK
      */
     @PostMapping("/get-score")
+    @Admission(EndpointGroup.SCORE)
     public ResponseEntity<Integer> getScore(@RequestBody List<QuizResponse> responses) {
         return new ResponseEntity<>(questionService.getScore(responses), HttpStatus.OK);
     }
+
+    /**
+     * Async variant of get-score: runs on the request executor and loads questions missing from the
+     * answer key with batched lookups.
+     * Example: POST /question/get-score/async
+     * @param responses Request body containing list of QuizResponse objects
+     * @return future of the Integer score and HTTP 200 OK
+     */
+    @PostMapping("/get-score/async")
+    @Admission(EndpointGroup.SCORE)
+    public CompletableFuture<ResponseEntity<Integer>> getScoreAsync(@RequestBody List<QuizResponse> responses) {
+        return questionService.getScoreAsync(responses).thenApply(score -> new ResponseEntity<>(score, HttpStatus.OK));
+    }
+
+    /**
+     * Score many quiz submissions in one call, in parallel.
+     * Example: POST /question/get-scores
+     * @param submissions Request body list of QuizSubmission objects (submission key and responses)
+     * @return List of SubmissionScore objects (score and per-question correctness) and HTTP 200 OK
+     */
+    @PostMapping("/get-scores")
+    @Admission(EndpointGroup.SCORE)
+    public ResponseEntity<List<SubmissionScore>> getScores(@RequestBody List<QuizSubmission> submissions) {
+        return new ResponseEntity<>(submissionScoringService.scoreSubmissions(submissions), HttpStatus.OK);
+    }
+
+    /**
+     * Get statistics about the in-memory question catalog.
+     * Example: GET /question/catalog/stats
+     * @return CatalogStats with size, build time and hit/miss counts and HTTP 200 OK
+     */
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<CatalogStats> getCatalogStats() {
+        return new ResponseEntity<>(questionService.getCatalogStats(), HttpStatus.OK);
+    }
+
+    // Lists requested ids that were not found, for batches served in partial mode
+    private static HttpHeaders missingIdsHeaders(BatchResult<?> result) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!result.isComplete()) {
+            headers.add(MISSING_IDS_HEADER, result.getMissingIds().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        return headers;
+    }
+
+    // Whether the Accept header ranks CBOR above JSON; JSON stays the default for wildcards and ties
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || !accept.contains(MediaType.APPLICATION_CBOR.getSubtype())) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(type)) {
+                    cbor = Math.max(cbor, type.getQualityValue());
+                } else if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(type)) {
+                    json = Math.max(json, type.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return cbor > json;
+    }
+
+    // ETag suffix telling the JSON and CBOR representations of the same data apart
+    private static String representation(String accept) {
+        return prefersCbor(accept) ? MediaType.APPLICATION_CBOR.getSubtype() : null;
+    }
+
+    // Whether an If-None-Match header lists the tag (weak comparison, as for GET)
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -11,6 +11,6 @@ public class CategoryNotFoundException extends RuntimeException {
      * @param message the detail message explaining the reason for the exception
      */
     public CategoryNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,16 @@
+package com.nurdinaffandidev.question_service.exception;
+
+/**
+ * Exception thrown when a quiz cannot be generated because a requested bucket has too few questions.
+ */
+public class InsufficientQuestionsException extends RuntimeException {
+
+    /**
+     * Constructs a new InsufficientQuestionsException with the specified detail message.
+     *
+     * @param message the detail message listing the buckets that are short of questions
+     */
+    public InsufficientQuestionsException(String message) {
+        super(message, null, false, false);
+    }
+}
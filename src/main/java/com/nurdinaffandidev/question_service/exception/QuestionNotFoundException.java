@@ -11,6 +11,6 @@ public class QuestionNotFoundException extends RuntimeException {
      * @param message the detail message explaining the reason for the exception
      */
     public QuestionNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false); // Expected miss (e.g. a stale id list): skip the stack trace
     }
 }
@@ -0,0 +1,39 @@
+package com.nurdinaffandidev.question_service.exception;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Exception thrown when a batch refers to one or more questions that do not exist.
+ * Carries every missing id, so a stale id list is reported in one response rather than one id at a time.
+ */
+public class QuestionsNotFoundException extends QuestionNotFoundException {
+
+    private final List<Integer> missingIds;
+
+    /**
+     * Constructs a new QuestionsNotFoundException for the given ids. The message is only built when read.
+     *
+     * @param missingIds the ids that were not found, in request order; duplicates are dropped
+     */
+    public QuestionsNotFoundException(List<Integer> missingIds) {
+        super(null);
+        this.missingIds = new ArrayList<>(new LinkedHashSet<>(missingIds));
+    }
+
+    /**
+     * @return the ids that were not found, in request order
+     */
+    public List<Integer> getMissingIds() {
+        return missingIds;
+    }
+
+    @Override
+    public String getMessage() {
+        if (missingIds.size() == 1) {
+            return "Question with id= " + missingIds.get(0) + " not found.";
+        }
+        return missingIds.size() + " questions not found.";
+    }
+}
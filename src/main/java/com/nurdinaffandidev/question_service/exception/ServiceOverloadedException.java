@@ -0,0 +1,27 @@
+package com.nurdinaffandidev.question_service.exception;
+
+/**
+ * Exception thrown when a request is shed because its endpoint group is at its concurrency limit.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceOverloadedException with the specified detail message.
+     *
+     * @param message the detail message naming the overloaded endpoint group
+     * @param retryAfterSeconds how long the client should wait before retrying
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false); // Thrown for every shed request, so skip the stack trace
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return how long the client should wait before retrying, in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,10 +1,12 @@
 package com.nurdinaffandidev.question_service.exceptionHandler;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Represents a structured error response for API exceptions.
@@ -22,4 +24,13 @@ public class ApiError {
 
     // Timestamp of when the error occurred
     private LocalDateTime timestamp;
+
+    // Every requested question id that does not exist, for batch lookups; omitted otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Integer> missingIds;
+
+    // Error without a list of missing IDs
+    public ApiError(String message, int status, LocalDateTime timestamp) {
+        this(message, status, timestamp, null);
+    }
 }
@@ -1,13 +1,22 @@
 package com.nurdinaffandidev.question_service.exceptionHandler;
 
 import com.nurdinaffandidev.question_service.exception.CategoryNotFoundException;
+import com.nurdinaffandidev.question_service.exception.InsufficientQuestionsException;
 import com.nurdinaffandidev.question_service.exception.QuestionNotFoundException;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import com.nurdinaffandidev.question_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
 
 /**
  * Global exception handler for handling and customizing API error responses.
@@ -15,6 +24,14 @@ import java.time.LocalDateTime;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    // Constructor-based dependency injection for the registry used to count handled exceptions
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles exceptions when a requested category is not found.
      *
@@ -23,6 +40,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(CategoryNotFoundException.class)
     public ResponseEntity<ApiError> handleCategoryNotFound(CategoryNotFoundException exception) {
+        countException(exception, HttpStatus.NOT_FOUND);
         // Create ApiError with message, status code and current timestamp
         ApiError error = new ApiError(
                 exception.getMessage(),
@@ -39,6 +57,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(QuestionNotFoundException.class)
     public ResponseEntity<ApiError> handleQuestionNotFound(QuestionNotFoundException exception) {
+        countException(exception, HttpStatus.NOT_FOUND);
         // Create ApiError with message, status code and current timestamp
         ApiError error = new ApiError(
                 exception.getMessage(),
@@ -47,6 +66,81 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles exceptions when a batch refers to questions that do not exist, listing all of them.
+     *
+     * @param exception the QuestionsNotFoundException thrown
+     * @return ResponseEntity containing ApiError with the missing IDs and 404 status
+     */
+    @ExceptionHandler(QuestionsNotFoundException.class)
+    public ResponseEntity<ApiError> handleQuestionsNotFound(QuestionsNotFoundException exception) {
+        countException(exception, HttpStatus.NOT_FOUND);
+        // Create ApiError with message, status code, current timestamp and every missing ID
+        ApiError error = new ApiError(
+                exception.getMessage(),
+                HttpStatus.NOT_FOUND.value(),
+                LocalDateTime.now(),
+                exception.getMissingIds());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles exceptions when a quiz mix asks for more questions than a bucket holds.
+     *
+     * @param exception the InsufficientQuestionsException thrown
+     * @return ResponseEntity containing ApiError with 422 status
+     */
+    @ExceptionHandler(InsufficientQuestionsException.class)
+    public ResponseEntity<ApiError> handleInsufficientQuestions(InsufficientQuestionsException exception) {
+        countException(exception, HttpStatus.UNPROCESSABLE_ENTITY);
+        // Create ApiError with message, status code and current timestamp
+        ApiError error = new ApiError(
+                exception.getMessage(),
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles requests shed by admission control because their endpoint group is at its limit.
+     *
+     * @param exception the ServiceOverloadedException thrown
+     * @return ResponseEntity containing ApiError with 503 status and a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiError> handleServiceOverloaded(ServiceOverloadedException exception) {
+        countException(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        // Create ApiError with message, status code and current timestamp
+        ApiError error = new ApiError(
+                exception.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                LocalDateTime.now());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        return new ResponseEntity<>(error, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles request bodies that fail bean validation, e.g. a quiz mix without buckets.
+     *
+     * @param exception the MethodArgumentNotValidException thrown
+     * @return ResponseEntity containing ApiError with every invalid field and 400 status
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiError> handleInvalidRequest(MethodArgumentNotValidException exception) {
+        countException(exception, HttpStatus.BAD_REQUEST);
+        // Create ApiError listing each invalid field, e.g. "buckets: must not be empty"
+        String message = exception.getBindingResult().getFieldErrors().stream()
+                .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        ApiError error = new ApiError(
+                message.isEmpty() ? "Invalid request" : message,
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles all other uncaught exceptions (generic fallback).
      *
@@ -55,7 +149,23 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception exception) {
+        countException(exception, HttpStatus.INTERNAL_SERVER_ERROR);
         // Return a simple string message with HTTP 500 Internal Server Error
         return new ResponseEntity<>("Internal Server Error: " + exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    /**
+     * Increments the question.errors counter, tagged with the exception type and response status.
+     *
+     * @param exception the exception being handled
+     * @param status the HTTP status returned to the client
+     */
+    private void countException(Exception exception, HttpStatus status) {
+        Counter.builder("question.errors")
+                .description("Exceptions handled by GlobalExceptionHandler")
+                .tag("exception", exception.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
@@ -0,0 +1,25 @@
+package com.nurdinaffandidev.question_service.execution;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sets the timeout of the async endpoints, whose bodies run on the {@link RequestExecutor}.
+ */
+@Configuration
+public class ExecutionConfig implements WebMvcConfigurer {
+
+    private final long asyncTimeoutMillis;
+
+    // Timeout for CompletableFuture-returning endpoints
+    public ExecutionConfig(@Value("${question.execution.async-timeout-ms:30000}") long asyncTimeoutMillis) {
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMillis);
+    }
+}
@@ -0,0 +1,66 @@
+package com.nurdinaffandidev.question_service.execution;
+
+import com.nurdinaffandidev.question_service.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor for the bodies of the async endpoints, which block on the database.
+ *
+ * A bounded pool of {@code question.execution.async-threads} platform threads runs them, with up to
+ * {@code question.execution.async-queue} tasks waiting; beyond that, requests are shed with 503.
+ * Tasks never wait on other pool tasks, so the pool cannot deadlock on itself.
+ */
+@Component
+public class RequestExecutor {
+
+    private final ExecutorService executor;
+
+    /**
+     * @param asyncThreads platform threads running async endpoints
+     * @param asyncQueue async tasks that may wait for a thread before new ones are rejected
+     */
+    @Autowired
+    public RequestExecutor(@Value("${question.execution.async-threads:64}") int asyncThreads,
+                           @Value("${question.execution.async-queue:1000}") int asyncQueue) {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, asyncThreads);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, asyncQueue)), runnable -> {
+                    Thread thread = new Thread(runnable, "question-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a task asynchronously.
+     *
+     * @param task the task
+     * @return a future completed with the task's result
+     * @throws ServiceOverloadedException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Async request queue is full", 1);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nurdinaffandidev.question_service.feign;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Feign decoder reading CBOR response bodies, and JSON bodies from servers that answered with
+ * JSON anyway (e.g. older instances without CBOR support).
+ */
+public class CborDecoder implements Decoder {
+
+    private final ObjectMapper cborMapper;
+
+    private final ObjectMapper jsonMapper;
+
+    /**
+     * @param cborMapper mapper backed by a CBOR factory
+     * @param jsonMapper mapper used for JSON responses
+     */
+    public CborDecoder(ObjectMapper cborMapper, ObjectMapper jsonMapper) {
+        this.cborMapper = cborMapper;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 204 || response.status() == 404 || response.body() == null) {
+            return Util.emptyValueOf(type);
+        }
+        ObjectMapper mapper = isCbor(response) ? cborMapper : jsonMapper;
+        try (InputStream body = response.body().asInputStream()) {
+            return mapper.readValue(body, mapper.constructType(type));
+        }
+    }
+
+    private static boolean isCbor(Response response) {
+        Collection<String> contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE);
+        if (contentTypes == null) {
+            contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE.toLowerCase());
+        }
+        return contentTypes != null && contentTypes.stream()
+                .anyMatch(value -> MediaType.APPLICATION_CBOR.isCompatibleWith(MediaType.parseMediaType(value)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.nurdinaffandidev.question_service.feign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.Type;
+
+/**
+ * Feign encoder writing request bodies as CBOR (application/cbor).
+ */
+public class CborEncoder implements Encoder {
+
+    private final ObjectMapper cborMapper;
+
+    /**
+     * @param cborMapper mapper backed by a CBOR factory
+     */
+    public CborEncoder(ObjectMapper cborMapper) {
+        this.cborMapper = cborMapper;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) {
+        try {
+            template.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+            template.body(cborMapper.writerFor(cborMapper.constructType(bodyType)).writeValueAsBytes(object), null);
+        } catch (JsonProcessingException e) {
+            throw new EncodeException("Could not encode " + bodyType + " as CBOR: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nurdinaffandidev.question_service.feign;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign client configuration that exchanges CBOR instead of JSON with the question service.
+ *
+ * Integer-id lists and small DTOs such as QuestionWrapper and QuizResponse are several times
+ * cheaper to parse as CBOR, and smaller on the wire. The question service negotiates CBOR on
+ * {@code generate-question-ids}, {@code retrieve-wrapper-questions} and {@code get-score}, and
+ * keeps JSON for clients that do not ask for it. Use it per client:
+ * <pre>
+ * &#64;FeignClient(name = "QUIZAPP-QUESTION-SERVICE", configuration = CborFeignConfiguration.class)
+ * </pre>
+ * Not annotated with {@code @Configuration}, so it does not replace the codecs of other clients.
+ */
+public class CborFeignConfiguration {
+
+    /** Accept header sent by CBOR clients; JSON stays acceptable for error bodies and older servers */
+    static final String ACCEPT = "application/cbor, application/json;q=0.5";
+
+    private static final ObjectMapper CBOR_MAPPER = CBORMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Bean
+    public Encoder feignEncoder() {
+        return new CborEncoder(CBOR_MAPPER);
+    }
+
+    @Bean
+    public Decoder feignDecoder(ObjectProvider<ObjectMapper> jsonMapper) {
+        return new ResponseEntityDecoder(new CborDecoder(CBOR_MAPPER, jsonMapper.getIfAvailable(ObjectMapper::new)));
+    }
+
+    @Bean
+    public RequestInterceptor cborAcceptInterceptor() {
+        return template -> template.header(HttpHeaders.ACCEPT, ACCEPT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.nurdinaffandidev.question_service.model;
+
+/**
+ * Projection of a question to just its id and correct answer, used to build the answer-key index.
+ */
+public interface AnswerKey {
+
+    /** Unique identifier of the question */
+    Integer getId();
+
+    /** The correct answer of the question */
+    String getCorrectAnswer();
+}
@@ -0,0 +1,29 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Result of looking up a batch of questions by id.
+ *
+ * @param <T> the type of item returned for each found id
+ */
+@Data
+@AllArgsConstructor
+public class BatchResult<T> {
+
+    /** Items for the ids that were found, in the order the ids were requested */
+    private List<T> items;
+
+    /** Requested ids that do not exist, in the order they were requested */
+    private List<Integer> missingIds;
+
+    /**
+     * @return whether every requested id was found
+     */
+    public boolean isComplete() {
+        return missingIds.isEmpty();
+    }
+}
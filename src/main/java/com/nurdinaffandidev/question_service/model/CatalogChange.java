@@ -0,0 +1,60 @@
+package com.nurdinaffandidev.question_service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entry in the catalog change log, written in the same transaction as the change it records.
+ * Replicas sharing the database poll the log to keep their in-memory structures in sync.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogChange {
+
+    /**
+     * Kind of change recorded.
+     */
+    public enum Type {
+        /** A question was added or replaced. */
+        SAVED,
+        /** A question was deleted. */
+        DELETED,
+        /** Many questions changed at once (e.g. an import); replicas rebuild from the database. */
+        RELOAD
+    }
+
+    /** Catalog version after this change. Auto-generated, increasing with every change. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long version;
+
+    /** Kind of change. */
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    /** Id of the changed question (0 for RELOAD). */
+    private int questionId;
+
+    /** Category of the changed question, so replicas can invalidate per-category state. */
+    private String category;
+
+    /** Difficulty of the changed question. */
+    private String difficulty;
+
+    /** Instance that made the change; it skips its own entries when polling. */
+    private String origin;
+
+    /** When the change was recorded. */
+    private Instant changedAt;
+}
@@ -0,0 +1,38 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Statistics describing the in-memory question catalog.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogStats {
+
+    /** Whether lookups are served from the in-memory catalog */
+    private boolean enabled;
+
+    /** Number of questions currently in the catalog */
+    private int size;
+
+    /** Number of distinct categories currently in the catalog */
+    private int categories;
+
+    /** When the current snapshot was last fully rebuilt */
+    private Instant builtAt;
+
+    /** Where the last full rebuild was loaded from: {@code database} or {@code snapshot-file} */
+    private String loadedFrom;
+
+    /** How long the last full rebuild took, in milliseconds */
+    private long buildMillis;
+
+    /** Number of lookups answered from the catalog */
+    private long hits;
+
+    /** Number of lookups that fell through to the database */
+    private long misses;
+}
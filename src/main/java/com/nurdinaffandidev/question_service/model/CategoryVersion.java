@@ -0,0 +1,13 @@
+package com.nurdinaffandidev.question_service.model;
+
+/**
+ * Projection of the change log to the latest catalog version of one category.
+ */
+public interface CategoryVersion {
+
+    /** Category of the changed questions */
+    String getCategory();
+
+    /** Latest version that changed the category */
+    Long getVersion();
+}
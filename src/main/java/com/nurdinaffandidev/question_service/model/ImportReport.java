@@ -0,0 +1,46 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk question import.
+ */
+@Data
+@AllArgsConstructor
+public class ImportReport {
+
+    /** Number of data rows read from the upload */
+    private long rowsRead;
+
+    /** Number of rows inserted into the database */
+    private long rowsImported;
+
+    /** Number of rows rejected by validation or by the database */
+    private long rowsRejected;
+
+    /** Total time taken by the import, in milliseconds */
+    private long elapsedMillis;
+
+    /** Import throughput, in imported rows per second */
+    private double rowsPerSecond;
+
+    /** Per-row errors (capped; see rowsRejected for the total) */
+    private List<RowError> errors;
+
+    /**
+     * Describes why a single row was rejected.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        /** 1-based position of the row in the upload (excluding any CSV header) */
+        private long row;
+
+        /** Reason the row was rejected */
+        private String message;
+    }
+}
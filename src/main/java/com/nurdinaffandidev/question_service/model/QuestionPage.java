@@ -0,0 +1,20 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of questions returned by keyset (id-based) pagination.
+ */
+@Data
+@AllArgsConstructor
+public class QuestionPage {
+
+    /** Questions in this page, in ascending id order */
+    private List<Question> items;
+
+    /** Cursor to pass as 'after' to fetch the next page, or null if this is the last page */
+    private Integer nextCursor;
+}
@@ -2,6 +2,7 @@ package com.nurdinaffandidev.question_service.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * A lightweight wrapper class for questions,
@@ -9,6 +10,7 @@ import lombok.Data;
  */
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class QuestionWrapper {
 
     /** Unique identifier of the question */
@@ -0,0 +1,45 @@
+package com.nurdinaffandidev.question_service.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to generate a quiz from a mix of (category, difficulty) buckets,
+ * e.g. 3 Easy, 5 Medium and 2 Hard Java questions.
+ */
+@Data
+@NoArgsConstructor
+public class QuizMixRequest {
+
+    /** Buckets to draw from; ids in the response follow this order */
+    @NotEmpty
+    private List<@Valid @NotNull Bucket> buckets;
+
+    /** If true, buckets with too few questions contribute what they have instead of failing the request */
+    private boolean allowPartial;
+
+    /**
+     * Number of questions wanted from one (category, difficulty) bucket.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Bucket {
+
+        /** Category of the questions, e.g. "Java" */
+        @NotBlank
+        private String category;
+
+        /** Difficulty of the questions, e.g. "Easy" */
+        @NotBlank
+        private String difficulty;
+
+        /** Number of questions to draw from this bucket */
+        private int count;
+    }
+}
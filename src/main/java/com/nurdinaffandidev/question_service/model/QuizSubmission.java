@@ -0,0 +1,20 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A single quiz submission to be scored as part of a bulk scoring request.
+ */
+@Data
+@NoArgsConstructor
+public class QuizSubmission {
+
+    /** Caller-defined key identifying the submission (e.g. quiz attempt id), echoed in the result */
+    private String submissionKey;
+
+    /** The user's responses for this submission */
+    private List<QuizResponse> responses;
+}
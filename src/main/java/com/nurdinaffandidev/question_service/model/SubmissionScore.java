@@ -0,0 +1,23 @@
+package com.nurdinaffandidev.question_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Score of one quiz submission from a bulk scoring request.
+ */
+@Data
+@AllArgsConstructor
+public class SubmissionScore {
+
+    /** Key of the submission this score belongs to */
+    private String submissionKey;
+
+    /** Number of correct answers */
+    private int score;
+
+    /** Whether each response was correct, in the order the responses were submitted */
+    private List<Boolean> correct;
+}
@@ -0,0 +1,63 @@
+package com.nurdinaffandidev.question_service.repository;
+
+import com.nurdinaffandidev.question_service.model.CatalogChange;
+import com.nurdinaffandidev.question_service.model.CategoryVersion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the catalog change log.
+ */
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    /**
+     * Reads changes after a version, oldest first.
+     *
+     * @param version last version already seen
+     * @param limit maximum number of changes
+     * @return the changes
+     */
+    List<CatalogChange> findByVersionGreaterThanOrderByVersionAsc(long version, Limit limit);
+
+    /**
+     * @return the latest catalog version, or 0 if nothing has changed yet
+     */
+    @Query("SELECT COALESCE(MAX(c.version), 0) FROM CatalogChange c")
+    long findLatestVersion();
+
+    /**
+     * Reads the latest version of every category changed up to a version.
+     *
+     * @param version highest version to consider
+     * @return one entry per category with changes still in the log
+     */
+    @Query("SELECT c.category AS category, MAX(c.version) AS version FROM CatalogChange c "
+            + "WHERE c.category IS NOT NULL AND c.version <= :version GROUP BY c.category")
+    List<CategoryVersion> findLatestVersionPerCategory(long version);
+
+    /**
+     * Reads the latest change of a type up to a version.
+     *
+     * @param type kind of change
+     * @param version highest version to consider
+     * @return the change, if one is still in the log
+     */
+    Optional<CatalogChange> findTopByTypeAndVersionLessThanEqualOrderByVersionDesc(CatalogChange.Type type, long version);
+
+    /**
+     * Deletes changes recorded before a point in time.
+     *
+     * @param cutoff changes recorded before this instant are deleted
+     * @return number of deleted changes
+     */
+    @Transactional
+    long deleteByChangedAtBefore(Instant cutoff);
+}
@@ -0,0 +1,202 @@
+package com.nurdinaffandidev.question_service.repository;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * DataLoader-style front for {@link QuestionRepository} by-id lookups.
+ *
+ * Concurrent requests for the same id share one in-flight load (single-flight), and distinct ids
+ * requested within {@code question.loader.window-ms} of each other are merged into one IN query of
+ * at most {@code question.loader.max-batch-size} ids.
+ *
+ * Enabled with {@code question.loader.enabled}.
+ */
+@Component
+public class QuestionLoader {
+
+    private final QuestionRepository questionRepository;
+
+    private final boolean enabled;
+
+    private final long windowMicros;
+
+    private final int maxBatchSize;
+
+    private final Map<Integer, CompletableFuture<Question>> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final DistributionSummary batchSizes;
+
+    private final Counter coalesced;
+
+    private final Counter savedQueries;
+
+    /**
+     * @param questionRepository repository used for the batched IN queries
+     * @param meterRegistry registry for batch size and saved-call metrics
+     * @param enabled whether by-id lookups go through the loader
+     * @param windowMillis how long to collect ids before querying
+     * @param maxBatchSize maximum ids per IN query; a full batch is dispatched immediately
+     * @param threads threads running batch queries
+     */
+    @Autowired
+    public QuestionLoader(QuestionRepository questionRepository, MeterRegistry meterRegistry,
+                          @Value("${question.loader.enabled:false}") boolean enabled,
+                          @Value("${question.loader.window-ms:2}") double windowMillis,
+                          @Value("${question.loader.max-batch-size:200}") int maxBatchSize,
+                          @Value("${question.loader.threads:4}") int threads) {
+        this.questionRepository = questionRepository;
+        this.enabled = enabled;
+        this.windowMicros = Math.round(windowMillis * 1000);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "question-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchSizes = DistributionSummary.builder("question.loader.batch.size")
+                .description("Number of distinct ids per batched IN query")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("question.loader.coalesced")
+                .description("Lookups that joined a load already in flight for the same id")
+                .register(meterRegistry);
+        this.savedQueries = Counter.builder("question.loader.saved.queries")
+                .description("Repository queries avoided by batching distinct ids together")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return whether by-id lookups go through the loader
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Requests a question by id.
+     *
+     * @param id question id
+     * @return a future completed with the question, or with null if it does not exist
+     */
+    public CompletableFuture<Question> load(int id) {
+        CompletableFuture<Question> existing = inFlight.get(id);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        CompletableFuture<Question> future = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        pending.add(id);
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            executor.execute(this::dispatch);
+        } else if (dispatchScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::dispatch, windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Loads several questions, sharing batches with concurrent callers.
+     *
+     * @param ids question ids
+     * @return the questions that exist, keyed by id
+     */
+    public Map<Integer, Question> loadAll(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<Question>> futures = new HashMap<>(Math.max(16, ids.size() * 2));
+        for (Integer id : ids) {
+            futures.computeIfAbsent(id, this::load);
+        }
+        Map<Integer, Question> questions = new HashMap<>(Math.max(16, futures.size() * 2));
+        futures.forEach((id, future) -> {
+            Question question = future.join();
+            if (question != null) {
+                questions.put(id, question);
+            }
+        });
+        return questions;
+    }
+
+    /**
+     * Drains up to one batch of pending ids and loads them with a single IN query.
+     */
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        List<Integer> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(1, pendingCount.get())));
+        while (batch.size() < maxBatchSize) {
+            Integer id = pending.poll();
+            if (id == null) {
+                break;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(id);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!pending.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+
+        batchSizes.record(batch.size());
+        savedQueries.increment(batch.size() - 1);
+        try {
+            Map<Integer, Question> loaded = new HashMap<>(batch.size() * 2);
+            for (Question question : questionRepository.findByIdIn(batch)) {
+                loaded.put(question.getId(), question);
+            }
+            for (Integer id : batch) {
+                complete(id, future -> future.complete(loaded.get(id)));
+            }
+        } catch (RuntimeException e) {
+            for (Integer id : batch) {
+                complete(id, future -> future.completeExceptionally(e));
+            }
+        }
+    }
+
+    private void complete(Integer id, Consumer<CompletableFuture<Question>> action) {
+        CompletableFuture<Question> future = inFlight.remove(id);
+        if (future != null) {
+            action.accept(future);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.nurdinaffandidev.question_service.repository;
 
+import com.nurdinaffandidev.question_service.model.AnswerKey;
 import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,9 +24,38 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
      */
     List<Question> findByCategory(String category);
 
+    /**
+     * Checks whether any question exists in the given category.
+     *
+     * @param category the category to check
+     * @return true if the category has at least one question
+     */
+    boolean existsByCategory(String category);
+
+    /**
+     * Keyset pagination: returns questions with an id greater than the cursor, in ascending id order.
+     *
+     * @param afterId the last id of the previous page (0 for the first page)
+     * @param limit maximum number of questions to return
+     * @return the next page of questions
+     */
+    List<Question> findByIdGreaterThanOrderByIdAsc(int afterId, Limit limit);
+
+    /**
+     * Keyset pagination within a category: returns questions with an id greater than the cursor,
+     * in ascending id order.
+     *
+     * @param category the category to filter questions by
+     * @param afterId the last id of the previous page (0 for the first page)
+     * @param limit maximum number of questions to return
+     * @return the next page of questions in the category
+     */
+    List<Question> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, int afterId, Limit limit);
+
     /**
      * Retrieves a list of random question IDs filtered by category.
-     * Uses native SQL query with ORDER BY RANDOM() and LIMIT.
+     * Uses native SQL query with ORDER BY RANDOM() and LIMIT, which sorts the whole category.
+     * Kept as the fallback for {@code question.sampling.engine=sql}.
      *
      * @param category the category to filter questions by
      * @param numQuestions the number of random question IDs to retrieve
@@ -30,4 +63,82 @@ public interface QuestionRepository extends JpaRepository<Question, Integer> {
      */
     @Query(value = "SELECT q.id FROM question q WHERE q.category=:category ORDER BY RANDOM() LIMIT :numQuestions", nativeQuery = true)
     List<Integer> findRandomQuestionsByCategory(String category, int numQuestions);
+
+    /**
+     * Retrieves the ids of all questions in a (category, difficulty) bucket.
+     * Used for difficulty-mix generation when the in-memory catalog is disabled.
+     *
+     * @param category the category to filter questions by
+     * @param difficulty the difficulty to filter questions by
+     * @return ids of the matching questions
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.category = :category AND q.difficulty = :difficulty")
+    List<Integer> findIdsByCategoryAndDifficulty(String category, String difficulty);
+
+    /**
+     * Finds all questions whose id is in the given collection, using a single IN query.
+     * Result order is unspecified.
+     *
+     * @param ids the question ids to load
+     * @return the questions that exist
+     */
+    List<Question> findByIdIn(Collection<Integer> ids);
+
+    /**
+     * Builds QuestionWrapper DTOs directly from the selected columns for the given ids,
+     * so the correct answer, category and difficulty are never loaded.
+     * Result order is unspecified.
+     *
+     * @param ids the question ids to load
+     * @return wrappers for the questions that exist
+     */
+    @Query("SELECT new com.nurdinaffandidev.question_service.model.QuestionWrapper(" +
+            "q.id, q.option1, q.option2, q.option3, q.option4, q.questionTitle) " +
+            "FROM Question q WHERE q.id IN :ids")
+    List<QuestionWrapper> findWrappersByIdIn(Collection<Integer> ids);
+
+    /**
+     * Loads only the id and correct answer of every question, for the answer-key index.
+     *
+     * @return id/answer projections of all questions
+     */
+    @Query("SELECT q.id AS id, q.correctAnswer AS correctAnswer FROM Question q")
+    List<AnswerKey> findAllAnswerKeys();
+
+    /**
+     * Loads only the id and correct answer of the given questions, using a single IN query.
+     *
+     * @param ids the question ids to load
+     * @return id/answer projections of the questions that exist
+     */
+    @Query("SELECT q.id AS id, q.correctAnswer AS correctAnswer FROM Question q WHERE q.id IN :ids")
+    List<AnswerKey> findAnswerKeysByIdIn(Collection<Integer> ids);
+
+    /**
+     * Case-insensitive substring search over the title and options, optionally filtered by category
+     * and difficulty. Scans the whole table; used when the in-memory search index is disabled.
+     *
+     * @param keyword text to look for
+     * @param category category filter, or null for any
+     * @param difficulty difficulty filter, or null for any
+     * @param limit maximum number of results
+     * @return matching questions in id order
+     */
+    @Query("SELECT q FROM Question q WHERE "
+            + "(:category IS NULL OR q.category = :category) AND (:difficulty IS NULL OR q.difficulty = :difficulty) AND ("
+            + "LOWER(q.questionTitle) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
+            + "LOWER(q.option1) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
+            + "LOWER(q.option2) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
+            + "LOWER(q.option3) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
+            + "LOWER(q.option4) LIKE LOWER(CONCAT('%', :keyword, '%'))) "
+            + "ORDER BY q.id")
+    List<Question> searchByKeyword(String keyword, String category, String difficulty, Limit limit);
+
+    /**
+     * Returns the highest question id, used with {@link #count()} to check a catalog snapshot file is current.
+     *
+     * @return the highest id, or 0 if there are no questions
+     */
+    @Query("SELECT COALESCE(MAX(q.id), 0) FROM Question q")
+    int findMaxId();
 }
@@ -0,0 +1,133 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.exception.CategoryNotFoundException;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams questions straight from a JDBC cursor to an output stream, as a JSON array or NDJSON,
+ * so exporting the catalog uses constant memory regardless of its size.
+ */
+@Service
+public class QuestionExportService {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, category, difficulty, option1, option2, option3, option4, question_title, correct_answer FROM question";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final QuestionRepository questionRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int fetchSize;
+
+    /**
+     * @param jdbcTemplate template used for cursor reads
+     * @param questionRepository repository used to check that a category exists
+     * @param objectMapper mapper whose settings are used to write each question
+     * @param fetchSize JDBC fetch size (rows per round trip) for export queries
+     */
+    @Autowired
+    public QuestionExportService(JdbcTemplate jdbcTemplate, QuestionRepository questionRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${question.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.questionRepository = questionRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every question to the output stream.
+     * @param out destination stream (not closed)
+     * @param ndjson true for newline-delimited JSON, false for a JSON array
+     */
+    public void exportAll(OutputStream out, boolean ndjson) {
+        export(out, ndjson, SELECT_COLUMNS + " ORDER BY id");
+    }
+
+    /**
+     * Throws CategoryNotFoundException if the category has no questions.
+     * Call before the response is committed, since errors cannot be reported once streaming starts.
+     * @param category the category name
+     */
+    public void checkCategoryExists(String category) {
+        if (!questionRepository.existsByCategory(category)) {
+            throw new CategoryNotFoundException("No questions found for category: " + category);
+        }
+    }
+
+    /**
+     * Writes every question of a category to the output stream.
+     * @param category the category name
+     * @param out destination stream (not closed)
+     * @param ndjson true for newline-delimited JSON, false for a JSON array
+     */
+    public void exportCategory(String category, OutputStream out, boolean ndjson) {
+        export(out, ndjson, SELECT_COLUMNS + " WHERE category = ? ORDER BY id", category);
+    }
+
+    private void export(OutputStream out, boolean ndjson, String sql, Object... args) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            RowCallbackHandler writeRow = resultSet -> {
+                try {
+                    generator.writeObject(toQuestion(resultSet));
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                return statement;
+            }, writeRow);
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Question toQuestion(ResultSet resultSet) throws SQLException {
+        return new Question(
+                resultSet.getInt("id"),
+                resultSet.getString("category"),
+                resultSet.getString("difficulty"),
+                resultSet.getString("option1"),
+                resultSet.getString("option2"),
+                resultSet.getString("option3"),
+                resultSet.getString("option4"),
+                resultSet.getString("question_title"),
+                resultSet.getString("correct_answer")
+        );
+    }
+}
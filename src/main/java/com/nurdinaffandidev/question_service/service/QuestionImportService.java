@@ -0,0 +1,363 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.catalog.CatalogChangeLog;
+import com.nurdinaffandidev.question_service.catalog.QuestionChangeListener;
+import com.nurdinaffandidev.question_service.model.ImportReport;
+import com.nurdinaffandidev.question_service.model.Question;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports questions in bulk from a streamed JSON array, NDJSON or CSV upload.
+ *
+ * Rows are parsed and validated one at a time and inserted with JDBC batches of
+ * {@code question.import.batch-size}, so only one batch is held in memory. Invalid rows are
+ * skipped and reported; valid rows are imported even if others fail. Each batch runs in its own
+ * transaction, so a batch with a row the database rejects leaves nothing behind before it is
+ * retried row by row.
+ */
+@Service
+public class QuestionImportService {
+
+    /** Media type for newline-delimited JSON uploads */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Media type for CSV uploads */
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question (category, difficulty, option1, option2, option3, option4, question_title, correct_answer) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** CSV header names, matching the JSON property names of Question */
+    private static final String[] CSV_COLUMNS =
+            {"category", "difficulty", "option1", "option2", "option3", "option4", "questionTitle", "correctAnswer"};
+
+    // Length of the VARCHAR columns generated for Question
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<QuestionChangeListener> changeListeners;
+
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final int batchSize;
+
+    private final int maxReportedErrors;
+
+    /**
+     * @param jdbcTemplate template used for batch inserts
+     * @param transactionManager transaction manager each batch runs in
+     * @param objectMapper mapper used to read JSON and NDJSON rows
+     * @param changeListeners in-memory structures to refresh after an import
+     * @param catalogChangeLog change log telling other instances to refresh after an import
+     * @param batchSize number of rows per JDBC batch
+     * @param maxReportedErrors maximum number of row errors listed in the report
+     */
+    @Autowired
+    public QuestionImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 List<QuestionChangeListener> changeListeners, CatalogChangeLog catalogChangeLog,
+                                 @Value("${question.import.batch-size:1000}") int batchSize,
+                                 @Value("${question.import.max-errors:100}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.changeListeners = changeListeners;
+        this.catalogChangeLog = catalogChangeLog;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports all rows from the input stream.
+     * @param in the upload body (not closed)
+     * @param contentType JSON array, NDJSON or CSV media type
+     * @return counts, throughput and per-row errors
+     */
+    public ImportReport importQuestions(InputStream in, MediaType contentType) {
+        ImportSession session = new ImportSession();
+        try {
+            if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                readNdjson(in, session);
+            } else if (TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(in, session);
+            } else {
+                readJsonArray(in, session);
+            }
+        } catch (IOException e) {
+            // Malformed input cannot be resynchronised; rows read so far are still imported
+            session.reject(session.rowsRead + 1, "Import stopped, unreadable input: " + e.getMessage());
+        }
+        session.flush();
+
+        if (session.rowsImported > 0) {
+            catalogChangeLog.recordReload();
+            changeListeners.forEach(QuestionChangeListener::onCatalogChanged);
+        }
+        return session.report();
+    }
+
+    private void readJsonArray(InputStream in, ImportSession session) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("expected a JSON array of questions");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IOException("unexpected end of JSON array");
+                }
+                long row = ++session.rowsRead;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    session.reject(row, "Expected a JSON object");
+                    continue;
+                }
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    session.accept(row, objectMapper.treeToValue(node, Question.class));
+                } catch (JsonProcessingException e) {
+                    session.reject(row, "Invalid question: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readNdjson(InputStream in, ImportSession session) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = ++session.rowsRead;
+            try {
+                session.accept(row, objectMapper.readValue(line, Question.class));
+            } catch (JsonProcessingException e) {
+                session.reject(row, "Invalid question: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream in, ImportSession session) throws IOException {
+        PushbackReader reader = new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columnIndex.put(header.get(i).trim(), i);
+        }
+        List<String> missingColumns = new ArrayList<>();
+        for (String column : CSV_COLUMNS) {
+            if (!columnIndex.containsKey(column)) {
+                missingColumns.add(column);
+            }
+        }
+        if (!missingColumns.isEmpty()) {
+            session.reject(0, "CSV header is missing column(s): " + String.join(", ", missingColumns));
+            return;
+        }
+
+        for (List<String> record = readCsvRecord(reader); record != null; record = readCsvRecord(reader)) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue; // Blank line
+            }
+            long row = ++session.rowsRead;
+            if (record.size() != header.size()) {
+                session.reject(row, "Expected " + header.size() + " columns but found " + record.size());
+                continue;
+            }
+            Question question = new Question();
+            question.setCategory(record.get(columnIndex.get("category")));
+            question.setDifficulty(record.get(columnIndex.get("difficulty")));
+            question.setOption1(record.get(columnIndex.get("option1")));
+            question.setOption2(record.get(columnIndex.get("option2")));
+            question.setOption3(record.get(columnIndex.get("option3")));
+            question.setOption4(record.get(columnIndex.get("option4")));
+            question.setQuestionTitle(record.get(columnIndex.get("questionTitle")));
+            question.setCorrectAnswer(record.get(columnIndex.get("correctAnswer")));
+            session.accept(row, question);
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record: comma-separated, optionally double-quoted fields ("" escapes a quote),
+     * where quoted fields may span lines.
+     * @return the fields, or null at end of input
+     */
+    private static List<String> readCsvRecord(PushbackReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean readAny = false;
+
+        for (int c = reader.read(); ; c = reader.read()) {
+            if (c == -1) {
+                if (!readAny) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            readAny = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.unread(next);
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * @return a validation message, or null if the question can be inserted
+     */
+    private static String validate(Question question) {
+        String[][] fields = {
+                {"category", question.getCategory()},
+                {"difficulty", question.getDifficulty()},
+                {"option1", question.getOption1()},
+                {"option2", question.getOption2()},
+                {"option3", question.getOption3()},
+                {"option4", question.getOption4()},
+                {"questionTitle", question.getQuestionTitle()},
+                {"correctAnswer", question.getCorrectAnswer()}
+        };
+        for (String[] field : fields) {
+            if (field[1] == null || field[1].isBlank()) {
+                return field[0] + " is required";
+            }
+            if (field[1].length() > MAX_COLUMN_LENGTH) {
+                return field[0] + " is longer than " + MAX_COLUMN_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mutable state of one import: the pending JDBC batch, counters and collected errors.
+     */
+    private final class ImportSession {
+
+        private final long startedAtNanos = System.nanoTime();
+
+        private final List<Object[]> batch = new ArrayList<>(batchSize);
+
+        private final List<Long> batchRows = new ArrayList<>(batchSize);
+
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        private long rowsRead;
+
+        private long rowsImported;
+
+        private long rowsRejected;
+
+        void accept(long row, Question question) {
+            String problem = validate(question);
+            if (problem != null) {
+                reject(row, problem);
+                return;
+            }
+            batch.add(new Object[]{
+                    question.getCategory(),
+                    question.getDifficulty(),
+                    question.getOption1(),
+                    question.getOption2(),
+                    question.getOption3(),
+                    question.getOption4(),
+                    question.getQuestionTitle(),
+                    question.getCorrectAnswer()
+            });
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            rowsRejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(row, message));
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                // Without a transaction the driver may already have committed the good rows of a failed batch
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+                rowsImported += batch.size();
+            } catch (DataAccessException batchFailure) {
+                // The batch was rolled back: retry row by row so one bad row does not reject the whole batch
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        jdbcTemplate.update(INSERT_SQL, batch.get(i));
+                        rowsImported++;
+                    } catch (DataAccessException rowFailure) {
+                        reject(batchRows.get(i), "Database rejected row: " + rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        ImportReport report() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAtNanos);
+            double rowsPerSecond = rowsImported * 1_000_000_000.0 / elapsedNanos;
+            return new ImportReport(rowsRead, rowsImported, rowsRejected, elapsedNanos / 1_000_000,
+                    Math.round(rowsPerSecond * 10) / 10.0, errors);
+        }
+    }
+}
@@ -1,18 +1,50 @@
 package com.nurdinaffandidev.question_service.service;
 
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.catalog.CatalogChangeLog;
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import com.nurdinaffandidev.question_service.catalog.QuestionChangeListener;
+import com.nurdinaffandidev.question_service.catalog.QuestionSampler;
+import com.nurdinaffandidev.question_service.catalog.QuestionSearchIndex;
+import com.nurdinaffandidev.question_service.catalog.QuizSetPool;
+import com.nurdinaffandidev.question_service.catalog.SeenQuestionTracker;
 import com.nurdinaffandidev.question_service.exception.CategoryNotFoundException;
+import com.nurdinaffandidev.question_service.exception.InsufficientQuestionsException;
 import com.nurdinaffandidev.question_service.exception.QuestionNotFoundException;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import com.nurdinaffandidev.question_service.execution.RequestExecutor;
+import com.nurdinaffandidev.question_service.model.BatchResult;
+import com.nurdinaffandidev.question_service.model.CatalogStats;
 import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionPage;
 import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import com.nurdinaffandidev.question_service.model.QuizMixRequest;
 import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.repository.QuestionLoader;
 import com.nurdinaffandidev.question_service.repository.QuestionRepository;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.env.Environment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Service class responsible for managing Question-related business logic.
@@ -22,16 +54,73 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
 
-    @Autowired
-    Environment environment; // Spring environment to access properties, e.g. server port
+    private final QuestionCatalog questionCatalog;
+
+    private final QuestionSampler questionSampler;
+
+    private final AnswerKeyIndex answerKeyIndex;
+
+    private final QuizSetPool quizSetPool;
+
+    private final QuestionLoader questionLoader;
+
+    private final QuestionSearchIndex questionSearchIndex;
+
+    private final CatalogChangeLog catalogChangeLog; // Lets other replicas follow adds and deletes
+
+    private final SeenQuestionTracker seenQuestionTracker; // Per-user record of questions already handed out
+
+    private final RequestExecutor requestExecutor; // Runs async endpoints and parallel chunk lookups
+
+    private final List<QuestionChangeListener> changeListeners; // In-memory structures kept in sync on add/delete
+
+    private final int batchChunkSize; // Maximum number of ids per IN query
+
+    private final boolean failOnMissingIds; // Whether a batch fails as a whole when any id is missing
+
+    private final int maxPageSize; // Upper bound for keyset page sizes
 
     /**
      * Constructor for QuestionService with repository injection.
      * @param questionRepository repository for Question entities
+     * @param questionCatalog in-memory catalog consulted before the repository
+     * @param questionSampler in-memory random selection engine
+     * @param answerKeyIndex compact answer key used for scoring
+     * @param quizSetPool background pool of pre-generated question-id sets
+     * @param questionLoader coalescing, micro-batching loader for by-id lookups
+     * @param questionSearchIndex in-memory full-text index over titles and options
+     * @param catalogChangeLog change log read by other instances sharing the database
+     * @param seenQuestionTracker per-user seen-question sets for no-repeat generation
+     * @param requestExecutor executor for async endpoints and parallel chunk lookups
+     * @param changeListeners in-memory structures notified after questions are added or deleted
+     * @param batchChunkSize maximum number of ids per IN query for batch lookups
+     * @param missingIdsPolicy {@code fail} to reject a batch with missing ids, {@code partial} to return what was found
+     * @param maxPageSize upper bound for keyset page sizes
      */
     @Autowired
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository, QuestionCatalog questionCatalog,
+                           QuestionSampler questionSampler, AnswerKeyIndex answerKeyIndex, QuizSetPool quizSetPool,
+                           QuestionLoader questionLoader, QuestionSearchIndex questionSearchIndex,
+                           CatalogChangeLog catalogChangeLog, SeenQuestionTracker seenQuestionTracker,
+                           RequestExecutor requestExecutor,
+                           List<QuestionChangeListener> changeListeners,
+                           @Value("${question.batch.chunk-size:500}") int batchChunkSize,
+                           @Value("${question.batch.missing-ids:fail}") String missingIdsPolicy,
+                           @Value("${question.export.max-page-size:1000}") int maxPageSize) {
         this.questionRepository = questionRepository;
+        this.questionCatalog = questionCatalog;
+        this.questionSampler = questionSampler;
+        this.answerKeyIndex = answerKeyIndex;
+        this.quizSetPool = quizSetPool;
+        this.questionLoader = questionLoader;
+        this.questionSearchIndex = questionSearchIndex;
+        this.catalogChangeLog = catalogChangeLog;
+        this.seenQuestionTracker = seenQuestionTracker;
+        this.requestExecutor = requestExecutor;
+        this.changeListeners = changeListeners;
+        this.batchChunkSize = Math.max(1, batchChunkSize);
+        this.failOnMissingIds = !"partial".equalsIgnoreCase(missingIdsPolicy);
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -56,36 +145,106 @@ public class QuestionService {
         return questions;
     }
 
+    /**
+     * Retrieves one page of all questions using keyset pagination on the id.
+     * @param afterId cursor: the last id of the previous page (0 for the first page)
+     * @param limit requested page size, capped at {@code question.export.max-page-size}
+     * @return the page and the cursor for the next one
+     */
+    public QuestionPage getQuestionPage(int afterId, int limit) {
+        int pageSize = pageSize(limit);
+        return toPage(questionRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Retrieves one page of a category's questions using keyset pagination on the id.
+     * Throws CategoryNotFoundException if the first page is empty.
+     * @param category the category name to filter questions
+     * @param afterId cursor: the last id of the previous page (0 for the first page)
+     * @param limit requested page size, capped at {@code question.export.max-page-size}
+     * @return the page and the cursor for the next one
+     */
+    public QuestionPage getQuestionPageByCategory(String category, int afterId, int limit) {
+        int pageSize = pageSize(limit);
+        List<Question> questions = questionRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                category, afterId, Limit.of(pageSize + 1));
+        if (questions.isEmpty() && afterId <= 0) {
+            throw new CategoryNotFoundException("No questions found for category: " + category);
+        }
+        return toPage(questions, pageSize);
+    }
+
+    /**
+     * Searches question titles and options by keyword, optionally filtered by category and difficulty.
+     * Uses the in-memory inverted index (BM25-ranked, best match first) when enabled, otherwise a
+     * case-insensitive LIKE scan for the whole query text (in id order).
+     * @param query keywords to search for
+     * @param category category filter, or null for any
+     * @param difficulty difficulty filter, or null for any
+     * @param limit maximum number of results, capped at {@code question.export.max-page-size}
+     * @return matching questions
+     */
+    public List<Question> searchQuestions(String query, String category, String difficulty, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int maxResults = pageSize(limit);
+        if (!questionSearchIndex.isEnabled()) {
+            return questionRepository.searchByKeyword(query.trim(), category, difficulty, Limit.of(maxResults));
+        }
+        // Questions deleted since the search ran are simply left out
+        return getQuestionsByIds(questionSearchIndex.search(query, category, difficulty, maxResults)).getItems();
+    }
+
     /**
      * Retrieves a question by its ID.
+     * Catalog misses go through the question loader when enabled, so concurrent lookups share queries.
+     * Misses are not written back to the catalog: it is only changed by writes and the change log, so a
+     * row loaded just before a delete cannot reappear in memory.
      * Throws QuestionNotFoundException if question does not exist.
      * @param id question ID
      * @return Question object
      */
     public Question getQuestionById(int id) {
-        return questionRepository.findById(id)
-                .orElseThrow(() -> new QuestionNotFoundException("Question with id= " + id + " not found."));
+        Question cached = questionCatalog.find(id);
+        if (cached != null) {
+            return cached;
+        }
+        Question question = questionLoader.isEnabled()
+                ? join(questionLoader.load(id))
+                : questionRepository.findById(id).orElse(null);
+        if (question == null) {
+            throw new QuestionNotFoundException("Question with id= " + id + " not found.");
+        }
+        return question;
     }
 
     /**
-     * Adds a new question to the database.
+     * Adds a new question to the database. In-memory structures are updated once the insert has committed.
      * @param question the Question object to add (validated)
      * @return the saved Question object
      */
+    @Transactional
     public Question addQuestion(@Valid Question question) {
-        return questionRepository.save(question);
+        Question savedQuestion = questionRepository.save(question);
+        catalogChangeLog.recordSaved(savedQuestion);
+        afterCommit(() -> changeListeners.forEach(listener -> listener.onQuestionSaved(savedQuestion)));
+        return savedQuestion;
     }
 
     /**
-     * Deletes a question by ID.
+     * Deletes a question by ID. In-memory structures are updated once the delete has committed.
      * Throws QuestionNotFoundException if question not found.
      * @param id the question ID to delete
      * @return the deleted Question object
      */
+    @Transactional
     public Question deleteQuestion(int id) {
         Question questionToDelete = questionRepository.findById(id)
                 .orElseThrow(() -> new QuestionNotFoundException("Question with id= " + id + " not found."));
         questionRepository.deleteById(id);
+        catalogChangeLog.recordDeleted(questionToDelete);
+        afterCommit(() -> changeListeners.forEach(listener -> listener.onQuestionDeleted(questionToDelete)));
         return questionToDelete;
     }
 
@@ -96,70 +255,334 @@ public class QuestionService {
      * @return list of randomly selected Question objects
      */
     public List<Question> generateQuestions(String category, int numQuestions) {
-        List<Integer> questionsId = questionRepository.findRandomQuestionsByCategory(category, numQuestions);
-        List<Question> questions = new ArrayList<>();
-
-        for(int id : questionsId) {
-            questions.add(getQuestionById(id));
-        }
+        return generateQuestions(category, numQuestions, null);
+    }
 
-        return questions;
+    /**
+     * Generates a list of questions randomly selected by category and count, avoiding questions
+     * already given to the same user.
+     * @param category the category to filter questions
+     * @param numQuestions number of questions to generate
+     * @param userKey optional key of the user; null draws independently of earlier requests
+     * @return list of randomly selected Question objects
+     */
+    public List<Question> generateQuestions(String category, int numQuestions, String userKey) {
+        List<Integer> questionsId = generateQuestionIds(category, numQuestions, userKey);
+        return applyMissingIdsPolicy(getQuestionsByIds(questionsId)).getItems();
     }
 
     /**
      * Generates a list of question IDs randomly selected by category and count.
+     * Takes a pre-generated set from the quiz set pool when one is ready, otherwise uses the
+     * in-memory sampling engine when active, otherwise the ORDER BY RANDOM() query.
      * @param category the category to filter questions
      * @param numQuestions number of question IDs to generate
      * @return list of question IDs
      */
     public List<Integer> generateQuestionIds(String category, int numQuestions) {
-        return questionRepository.findRandomQuestionsByCategory(category, numQuestions);
+        return generateQuestionIds(category, numQuestions, null);
     }
 
     /**
-     * Retrieves a list of QuestionWrapper DTOs for given question IDs.
-     * Prints the server port to verify load balancing in a microservices environment.
-     * @param questionIds list of question IDs to retrieve
-     * @return list of QuestionWrapper objects (simplified question view)
+     * Generates a list of question IDs randomly selected by category and count. With a user key,
+     * only questions not yet given to that user are drawn (see {@link SeenQuestionTracker}), starting
+     * over once the category runs out; this needs the in-memory catalog and is ignored otherwise.
+     * @param category the category to filter questions
+     * @param numQuestions number of question IDs to generate
+     * @param userKey optional key of the user; null draws independently of earlier requests
+     * @return list of question IDs
      */
-    public List<QuestionWrapper> getWrapperQuestions(List<Integer> questionIds) {
-        System.out.println("Port called = " + environment.getProperty("local.server.port")); // For load balancing trace
-        List<QuestionWrapper> wrappedQns = new ArrayList<>();
+    public List<Integer> generateQuestionIds(String category, int numQuestions, String userKey) {
+        if (!questionSampler.isActive()) {
+            return questionRepository.findRandomQuestionsByCategory(category, numQuestions);
+        }
+        boolean noRepeat = userKey != null && !userKey.isBlank() && seenQuestionTracker.isActive();
+        int[] sampled = noRepeat ? seenQuestionTracker.sampleUnseen(userKey, category, numQuestions)
+                : quizSetPool.isActive() ? quizSetPool.poll(category, numQuestions) : null;
+        if (sampled == null) {
+            sampled = questionSampler.sampleCategory(category, numQuestions);
+        }
+        List<Integer> questionIds = new ArrayList<>(sampled.length);
+        for (int id : sampled) {
+            questionIds.add(id);
+        }
+        return questionIds;
+    }
 
-        for(int id : questionIds) {
-            Question question = getQuestionById(id);
-            QuestionWrapper wrappedQn = new QuestionWrapper(
-                    question.getId(),
-                    question.getOption1(),
-                    question.getOption2(),
-                    question.getOption3(),
-                    question.getOption4(),
-                    question.getQuestionTitle()
-            );
-            wrappedQns.add(wrappedQn);
+    /**
+     * Generates question IDs from a mix of (category, difficulty) buckets, e.g. 3 Easy + 5 Medium + 2 Hard.
+     * Each bucket is sampled from the catalog's (category, difficulty) index without a database scan;
+     * repeated buckets are merged so no ID is returned twice. If a bucket holds fewer questions than
+     * requested, InsufficientQuestionsException lists every short bucket, unless allowPartial is set,
+     * in which case that bucket contributes all of its questions.
+     * @param request buckets and counts to draw
+     * @return question IDs, grouped in bucket order
+     */
+    public List<Integer> generateQuestionIdsByMix(QuizMixRequest request) {
+        Map<List<String>, Integer> counts = new LinkedHashMap<>();
+        for (QuizMixRequest.Bucket bucket : request.getBuckets()) {
+            counts.merge(Arrays.asList(bucket.getCategory(), bucket.getDifficulty()), Math.max(0, bucket.getCount()), Integer::sum);
         }
 
-        return wrappedQns;
+        Map<List<String>, int[]> available = new LinkedHashMap<>();
+        List<String> shortBuckets = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<List<String>, Integer> entry : counts.entrySet()) {
+            int[] ids = bucketIds(entry.getKey().get(0), entry.getKey().get(1));
+            available.put(entry.getKey(), ids);
+            if (ids.length < entry.getValue()) {
+                shortBuckets.add(entry.getKey().get(0) + "/" + entry.getKey().get(1)
+                        + " (requested " + entry.getValue() + ", available " + ids.length + ")");
+            }
+            total += Math.min(ids.length, entry.getValue());
+        }
+        if (!shortBuckets.isEmpty() && !request.isAllowPartial()) {
+            throw new InsufficientQuestionsException("Not enough questions for: " + String.join(", ", shortBuckets));
+        }
+
+        List<Integer> questionIds = new ArrayList<>(total);
+        for (Map.Entry<List<String>, int[]> entry : available.entrySet()) {
+            for (int id : questionSampler.sample(entry.getValue(), counts.get(entry.getKey()))) {
+                questionIds.add(id);
+            }
+        }
+        return questionIds;
+    }
+
+    /**
+     * Ids in a (category, difficulty) bucket, from the catalog index or, if disabled, the database.
+     */
+    private int[] bucketIds(String category, String difficulty) {
+        if (questionCatalog.isEnabled()) {
+            return questionCatalog.snapshot().idsForBucket(category, difficulty);
+        }
+        return questionRepository.findIdsByCategoryAndDifficulty(category, difficulty).stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Retrieves QuestionWrapper DTOs for given question IDs, in the order the IDs were given.
+     * Questions not in the in-memory catalog are loaded with chunked IN queries that select only
+     * the wrapper columns; these bypass the question loader, which loads full entities.
+     * Missing IDs are handled according to {@code question.batch.missing-ids}: {@code fail} throws
+     * QuestionsNotFoundException listing all of them, {@code partial} reports them in the result.
+     * @param questionIds list of question IDs to retrieve
+     * @return QuestionWrapper objects (simplified question view) and any missing IDs
+     */
+    public BatchResult<QuestionWrapper> getWrapperQuestions(List<Integer> questionIds) {
+        BatchResult<QuestionWrapper> wrappedQns = fetchInOrder(
+                questionIds,
+                id -> {
+                    Question question = questionCatalog.find(id);
+                    return question == null ? null : toWrapper(question);
+                },
+                questionRepository::findWrappersByIdIn,
+                QuestionWrapper::getQuestionId);
+        return applyMissingIdsPolicy(wrappedQns);
+    }
+
+    /**
+     * Retrieves full questions for given IDs, in the order the IDs were given,
+     * using the in-memory catalog first and chunked IN queries for the rest.
+     * @param questionIds list of question IDs to retrieve
+     * @return found questions and any missing IDs
+     */
+    public BatchResult<Question> getQuestionsByIds(List<Integer> questionIds) {
+        return fetchInOrder(questionIds, questionCatalog::find,
+                questionLoader.isEnabled() ? this::loadByIds : questionRepository::findByIdIn,
+                Question::getId);
+    }
+
+    /**
+     * Same as {@link #getWrapperQuestions(List)}, run on the request executor so the servlet thread
+     * is released while the lookups run.
+     * @param questionIds list of question IDs to retrieve
+     * @return future completed with the found wrappers and any missing IDs
+     */
+    public CompletableFuture<BatchResult<QuestionWrapper>> getWrapperQuestionsAsync(List<Integer> questionIds) {
+        return requestExecutor.supply(() -> getWrapperQuestions(questionIds));
+    }
+
+    /**
+     * Same as {@link #getScore(List)}, run on the request executor so the servlet thread is released
+     * while questions missing from the answer key are loaded.
+     * @param responses list of QuizResponse objects containing user answers
+     * @return future completed with the number of correct answers
+     */
+    public CompletableFuture<Integer> getScoreAsync(List<QuizResponse> responses) {
+        return requestExecutor.supply(() -> getScore(responses));
     }
 
     /**
      * Calculates the score (number of correct answers) based on user responses.
+     * Answers are checked against the in-memory answer key when enabled; questions not in the key
+     * are loaded together with chunked IN queries and scored from the loaded rows. Those rows are
+     * not written back to the key: it is only changed by writes and the change log, so a question
+     * loaded just before a delete cannot stay scorable.
+     * Throws QuestionsNotFoundException listing every unknown question ID.
      * @param responses list of QuizResponse objects containing user answers
      * @return number of correct answers
      */
     public Integer getScore(List<QuizResponse> responses) {
         int correctAnswer = 0;
+        List<QuizResponse> unknown = new ArrayList<>();
+        for (QuizResponse response : responses) {
+            int result = answerKeyIndex.isEnabled()
+                    ? answerKeyIndex.check(response.getQuestionId(), response.getResponse())
+                    : AnswerKeyIndex.UNKNOWN;
+            if (result == AnswerKeyIndex.UNKNOWN) {
+                unknown.add(response);
+            } else {
+                correctAnswer += result;
+            }
+        }
+        if (unknown.isEmpty()) {
+            return correctAnswer;
+        }
 
-        for(QuizResponse response : responses) {
-            int questionId = response.getQuestionId();
-
-            Question questionToCheck = questionRepository.findById(questionId)
-                    .orElseThrow(() -> new QuestionNotFoundException("Question with id= " + questionId + " not found."));
-
-            if (response.getResponse().equals(questionToCheck.getCorrectAnswer())) {
+        BatchResult<Question> loaded = getQuestionsByIds(unknown.stream().map(QuizResponse::getQuestionId).toList());
+        if (!loaded.isComplete()) {
+            throw new QuestionsNotFoundException(loaded.getMissingIds());
+        }
+        Map<Integer, Question> questionsById = new HashMap<>();
+        for (Question question : loaded.getItems()) {
+            questionsById.put(question.getId(), question);
+        }
+        for (QuizResponse response : unknown) {
+            String answer = questionsById.get(response.getQuestionId()).getCorrectAnswer();
+            if (answer != null && answer.equals(response.getResponse())) {
                 correctAnswer++;
             }
         }
         return correctAnswer;
     }
+
+    /**
+     * Returns statistics about the in-memory question catalog.
+     * @return catalog size, build time and hit/miss counters
+     */
+    public CatalogStats getCatalogStats() {
+        return questionCatalog.stats();
+    }
+
+    /**
+     * Loads questions through the question loader, sharing batches with concurrent requests.
+     */
+    private List<Question> loadByIds(Collection<Integer> ids) {
+        try {
+            return new ArrayList<>(questionLoader.loadAll(ids).values());
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Trims the extra look-ahead row and derives the next cursor from it.
+     */
+    private static QuestionPage toPage(List<Question> questions, int pageSize) {
+        if (questions.size() <= pageSize) {
+            return new QuestionPage(questions, null);
+        }
+        List<Question> page = questions.subList(0, pageSize);
+        return new QuestionPage(new ArrayList<>(page), page.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or right away outside a transaction,
+     * so in-memory structures never serve a row the database rolled back.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Throws for every missing ID at once when the batch policy is {@code fail}.
+     */
+    private <T> BatchResult<T> applyMissingIdsPolicy(BatchResult<T> result) {
+        if (failOnMissingIds && !result.isComplete()) {
+            throw new QuestionsNotFoundException(result.getMissingIds());
+        }
+        return result;
+    }
+
+    /**
+     * Resolves IDs from memory where possible and loads the remainder with one IN query per chunk,
+     * then lays the results out in request order (duplicates included).
+     */
+    private <T> BatchResult<T> fetchInOrder(List<Integer> ids, IntFunction<T> fromMemory,
+                                            Function<Collection<Integer>, List<T>> query, ToIntFunction<T> idOf) {
+        Map<Integer, T> found = new HashMap<>(Math.max(16, ids.size() * 2));
+        Set<Integer> toLoad = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (found.containsKey(id) || toLoad.contains(id)) {
+                continue;
+            }
+            T item = fromMemory.apply(id);
+            if (item != null) {
+                found.put(id, item);
+            } else {
+                toLoad.add(id);
+            }
+        }
+
+        List<Integer> pending = new ArrayList<>(toLoad);
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(pending.size(), from + batchChunkSize));
+            for (T item : query.apply(chunk)) {
+                found.put(idOf.applyAsInt(item), item);
+            }
+        }
+
+        List<T> items = new ArrayList<>(ids.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResult<>(items, missingIds);
+    }
+
+    /**
+     * Converts a Question into the QuestionWrapper view sent to quiz takers.
+     */
+    private static QuestionWrapper toWrapper(Question question) {
+        return new QuestionWrapper(
+                question.getId(),
+                question.getOption1(),
+                question.getOption2(),
+                question.getOption3(),
+                question.getOption4(),
+                question.getQuestionTitle()
+        );
+    }
 }
@@ -0,0 +1,160 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import com.nurdinaffandidev.question_service.model.AnswerKey;
+import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.model.QuizSubmission;
+import com.nurdinaffandidev.question_service.model.SubmissionScore;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scores many quiz submissions in one call.
+ *
+ * Answers for the whole batch are resolved up front in a single pass against one snapshot of the
+ * answer-key index: questions in the snapshot need no lookup, and all remaining ids are fetched
+ * together with chunked IN queries. Scoring uses the same snapshot, so a question deleted meanwhile
+ * cannot fail the batch halfway. A submission without responses scores 0.
+ * Submissions are then scored in parallel on a bounded fork-join pool
+ * ({@code question.scoring.parallelism}), so a burst of submissions cannot take over the common pool.
+ */
+@Service
+public class SubmissionScoringService {
+
+    private final AnswerKeyIndex answerKeyIndex;
+
+    private final QuestionRepository questionRepository;
+
+    private final ForkJoinPool scoringPool;
+
+    private final int parallelThreshold;
+
+    private final int batchChunkSize;
+
+    /**
+     * @param answerKeyIndex in-memory answer key
+     * @param questionRepository repository used for questions not in the answer key
+     * @param parallelism maximum number of threads scoring submissions concurrently (0 = available processors)
+     * @param parallelThreshold minimum number of submissions before scoring runs in parallel
+     * @param batchChunkSize maximum number of ids per IN query
+     */
+    @Autowired
+    public SubmissionScoringService(AnswerKeyIndex answerKeyIndex, QuestionRepository questionRepository,
+                                    @Value("${question.scoring.parallelism:0}") int parallelism,
+                                    @Value("${question.scoring.parallel-threshold:64}") int parallelThreshold,
+                                    @Value("${question.batch.chunk-size:500}") int batchChunkSize) {
+        this.answerKeyIndex = answerKeyIndex;
+        this.questionRepository = questionRepository;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
+        this.batchChunkSize = Math.max(1, batchChunkSize);
+    }
+
+    /**
+     * Scores every submission. Throws QuestionsNotFoundException listing every unknown question the responses refer to.
+     * @param submissions submissions to score
+     * @return one score per submission, in request order
+     */
+    public List<SubmissionScore> scoreSubmissions(List<QuizSubmission> submissions) {
+        AnswerKeyIndex.Snapshot snapshot = answerKeyIndex.isEnabled() ? answerKeyIndex.snapshot() : null;
+        Map<Integer, String> unindexedAnswers = resolveUnindexedAnswers(submissions, snapshot);
+
+        if (submissions.size() < parallelThreshold) {
+            List<SubmissionScore> scores = new ArrayList<>(submissions.size());
+            for (QuizSubmission submission : submissions) {
+                scores.add(score(submission, snapshot, unindexedAnswers));
+            }
+            return scores;
+        }
+        // A parallel stream started from inside the pool runs its tasks on that pool
+        return scoringPool.submit(() -> submissions.parallelStream()
+                        .map(submission -> score(submission, snapshot, unindexedAnswers))
+                        .toList())
+                .join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdown();
+    }
+
+    /**
+     * Collects every question id in the batch that the answer-key snapshot cannot answer and loads
+     * their answers with one IN query per chunk.
+     */
+    private Map<Integer, String> resolveUnindexedAnswers(List<QuizSubmission> submissions, AnswerKeyIndex.Snapshot snapshot) {
+        Set<Integer> unindexedIds = new LinkedHashSet<>();
+        for (QuizSubmission submission : submissions) {
+            for (QuizResponse response : responsesOf(submission)) {
+                int questionId = response.getQuestionId();
+                if (snapshot == null || !snapshot.contains(questionId)) {
+                    unindexedIds.add(questionId);
+                }
+            }
+        }
+        if (unindexedIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, String> answers = new HashMap<>(unindexedIds.size() * 2);
+        List<Integer> pending = new ArrayList<>(unindexedIds);
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(pending.size(), from + batchChunkSize));
+            for (AnswerKey answerKey : questionRepository.findAnswerKeysByIdIn(chunk)) {
+                answers.put(answerKey.getId(), answerKey.getCorrectAnswer());
+            }
+        }
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : pending) {
+            if (!answers.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            throw new QuestionsNotFoundException(missingIds);
+        }
+        return answers;
+    }
+
+    private SubmissionScore score(QuizSubmission submission, AnswerKeyIndex.Snapshot snapshot,
+                                  Map<Integer, String> unindexedAnswers) {
+        List<QuizResponse> responses = responsesOf(submission);
+        Boolean[] correct = new Boolean[responses.size()];
+        int score = 0;
+
+        for (int i = 0; i < correct.length; i++) {
+            QuizResponse response = responses.get(i);
+            int questionId = response.getQuestionId();
+            int result = snapshot != null
+                    ? snapshot.check(questionId, response.getResponse())
+                    : AnswerKeyIndex.UNKNOWN;
+            if (result == AnswerKeyIndex.UNKNOWN) {
+                // Resolved up front from the same snapshot
+                String correctAnswer = unindexedAnswers.get(questionId);
+                result = correctAnswer != null && correctAnswer.equals(response.getResponse())
+                        ? AnswerKeyIndex.CORRECT
+                        : AnswerKeyIndex.INCORRECT;
+            }
+            correct[i] = result == AnswerKeyIndex.CORRECT;
+            score += result;
+        }
+        return new SubmissionScore(submission.getSubmissionKey(), score, Arrays.asList(correct));
+    }
+
+    private static List<QuizResponse> responsesOf(QuizSubmission submission) {
+        return submission.getResponses() == null ? List.of() : submission.getResponses();
+    }
+}
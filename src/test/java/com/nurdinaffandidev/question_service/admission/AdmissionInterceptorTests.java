@@ -0,0 +1,99 @@
+package com.nurdinaffandidev.question_service.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdmissionInterceptorTests {
+
+	private AdmissionLimiter limiter;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void createMockMvc() {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("question.admission.read.max-concurrent", "1")
+				.withProperty("question.admission.read.max-queue", "0");
+		limiter = spy(new AdmissionLimiter(environment, new SimpleMeterRegistry(), true, 0, 1));
+		mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+				.addInterceptors(new AdmissionInterceptor(limiter))
+				.build();
+	}
+
+	@Test
+	void asyncEndpointReleasesItsPermitOnceAfterTheAsyncDispatch() throws Exception {
+		MvcResult result = mockMvc.perform(get("/async"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		verify(limiter, times(1)).acquire(EndpointGroup.READ);
+		verify(limiter, never()).release(EndpointGroup.READ); // Still held while the future runs
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().string("done"));
+		verify(limiter, times(1)).acquire(EndpointGroup.READ); // Not taken again on the async dispatch
+		verify(limiter, times(1)).release(EndpointGroup.READ);
+
+		// With one permit, the next request only gets in if the first one gave it back
+		MvcResult next = mockMvc.perform(get("/async")).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(next)).andExpect(status().isOk());
+		verify(limiter, times(2)).release(EndpointGroup.READ);
+	}
+
+	@Test
+	void synchronousEndpointReleasesItsPermitOnce() throws Exception {
+		mockMvc.perform(get("/sync")).andExpect(status().isOk());
+		mockMvc.perform(get("/sync")).andExpect(status().isOk());
+
+		verify(limiter, times(2)).acquire(EndpointGroup.READ);
+		verify(limiter, times(2)).release(EndpointGroup.READ);
+	}
+
+	@Test
+	void endpointsWithoutAdmissionAreNotLimited() throws Exception {
+		mockMvc.perform(get("/unlimited")).andExpect(status().isOk());
+
+		verify(limiter, never()).acquire(EndpointGroup.READ);
+		verify(limiter, never()).release(EndpointGroup.READ);
+	}
+
+	@RestController
+	static class TestController {
+
+		@GetMapping("/async")
+		@Admission(EndpointGroup.READ)
+		CompletableFuture<String> async() {
+			return CompletableFuture.supplyAsync(() -> "done");
+		}
+
+		@GetMapping("/sync")
+		@Admission(EndpointGroup.READ)
+		String sync() {
+			return "done";
+		}
+
+		@GetMapping("/unlimited")
+		String unlimited() {
+			return "done";
+		}
+	}
+}
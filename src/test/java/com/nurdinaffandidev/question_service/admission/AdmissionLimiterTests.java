@@ -0,0 +1,82 @@
+package com.nurdinaffandidev.question_service.admission;
+
+import com.nurdinaffandidev.question_service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionLimiterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void rejectsRightAwayWhenPermitsAndQueueAreTaken() throws Exception {
+		AdmissionLimiter limiter = limiter(1, 1, 5_000);
+		limiter.acquire(EndpointGroup.READ);
+
+		CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> limiter.acquire(EndpointGroup.READ));
+		while (gauge("question.admission.queued") < 1) {
+			Thread.sleep(1);
+		}
+		long start = System.nanoTime();
+		ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+				() -> limiter.acquire(EndpointGroup.READ));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "queue-full rejection should not wait");
+		assertEquals(3, rejected.getRetryAfterSeconds());
+		assertEquals(1, meterRegistry.get("question.admission.rejected").tag("group", "read").counter().count());
+
+		limiter.release(EndpointGroup.READ);
+		queued.get(5, TimeUnit.SECONDS); // The queued request gets the released permit
+		assertEquals(0, gauge("question.admission.queued"));
+		assertEquals(1, gauge("question.admission.in-flight"));
+	}
+
+	@Test
+	void queuedRequestIsRejectedAfterMaxWait() {
+		AdmissionLimiter limiter = limiter(1, 4, 50);
+		limiter.acquire(EndpointGroup.READ);
+
+		long start = System.nanoTime();
+		assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(EndpointGroup.READ));
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(0, gauge("question.admission.queued"));
+	}
+
+	@Test
+	void releaseFreesThePermitForItsGroupOnly() {
+		AdmissionLimiter limiter = limiter(1, 0, 0);
+		limiter.acquire(EndpointGroup.READ);
+		limiter.acquire(EndpointGroup.SCORE); // Groups do not share permits
+		assertThrows(ServiceOverloadedException.class, () -> limiter.acquire(EndpointGroup.READ));
+
+		limiter.release(EndpointGroup.READ);
+		limiter.acquire(EndpointGroup.READ);
+		assertEquals(1, gauge("question.admission.in-flight"));
+	}
+
+	@Test
+	void disabledLimiterReportsItself() {
+		AdmissionLimiter limiter = new AdmissionLimiter(new MockEnvironment(), meterRegistry, false, 50, 1);
+		assertFalse(limiter.isEnabled());
+	}
+
+	private AdmissionLimiter limiter(int maxConcurrent, int maxQueue, long maxWaitMillis) {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("question.admission.read.max-concurrent", String.valueOf(maxConcurrent))
+				.withProperty("question.admission.read.max-queue", String.valueOf(maxQueue));
+		return new AdmissionLimiter(environment, meterRegistry, true, maxWaitMillis, 3);
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).tag("group", "read").gauge().value();
+	}
+}
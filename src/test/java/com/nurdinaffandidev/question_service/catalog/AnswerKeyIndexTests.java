@@ -0,0 +1,41 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerKeyIndexTests {
+
+	@Test
+	void tableMatchesHashMapUnderRandomAddsAndDeletes() {
+		Random random = new Random(11);
+		Map<Integer, String> expected = new HashMap<>();
+		AnswerKeyIndex.Table table = AnswerKeyIndex.Table.EMPTY;
+
+		for (int step = 0; step < 20_000; step++) {
+			int id = 1 + random.nextInt(2_000);
+			if (random.nextInt(3) == 0) {
+				expected.remove(id);
+				table = table.without(id);
+			} else {
+				String answer = "answer-" + random.nextInt(50);
+				expected.put(id, answer);
+				table = table.with(id, answer);
+			}
+		}
+
+		for (int id = 1; id <= 2_000; id++) {
+			int code = table.codeOf(id);
+			if (expected.containsKey(id)) {
+				assertEquals(expected.get(id), table.dictionary()[code]);
+			} else {
+				assertEquals(AnswerKeyIndex.Table.MISSING, code);
+			}
+		}
+		assertEquals(expected.size(), table.size());
+	}
+}
@@ -0,0 +1,139 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.CatalogChange;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.CatalogChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogChangeLogTests {
+
+	private CatalogChangeRepository repository;
+
+	private final List<Integer> deleted = new ArrayList<>();
+
+	@BeforeEach
+	void createRepository() {
+		repository = mock(CatalogChangeRepository.class);
+	}
+
+	@Test
+	void waitsForMissingVersionsThenAppliesThemOnce() {
+		CatalogChangeLog changeLog = changeLog(60_000);
+		when(repository.findByVersionGreaterThanOrderByVersionAsc(anyLong(), any(Limit.class)))
+				.thenReturn(List.of(deletion(1), deletion(3)))
+				.thenReturn(List.of(deletion(2), deletion(3)))
+				.thenReturn(List.of());
+
+		changeLog.poll();
+		assertEquals(List.of(1, 3), deleted);
+		assertEquals(1, changeLog.syncedVersion()); // Version 2 is still missing
+		changeLog.poll();
+		assertEquals(List.of(1, 3, 2), deleted);
+		assertEquals(3, changeLog.syncedVersion());
+		changeLog.poll();
+
+		verify(repository).findByVersionGreaterThanOrderByVersionAsc(1L, Limit.of(500));
+		verify(repository).findByVersionGreaterThanOrderByVersionAsc(3L, Limit.of(500));
+		assertEquals(3, changeLog.currentVersion());
+	}
+
+	@Test
+	void skipsMissingVersionsAfterTimeout() {
+		CatalogChangeLog changeLog = changeLog(0);
+		when(repository.findByVersionGreaterThanOrderByVersionAsc(anyLong(), any(Limit.class)))
+				.thenReturn(List.of(deletion(3)))
+				.thenReturn(List.of());
+
+		changeLog.poll();
+		changeLog.poll();
+
+		verify(repository).findByVersionGreaterThanOrderByVersionAsc(3L, Limit.of(500));
+		assertEquals(List.of(3), deleted);
+	}
+
+	@Test
+	void categoryVersionsOnlyMoveOnceEarlierVersionsAreSynced() {
+		CatalogChangeLog changeLog = changeLog(60_000);
+		when(repository.findByVersionGreaterThanOrderByVersionAsc(anyLong(), any(Limit.class)))
+				.thenReturn(List.of(deletion(1), change(3, "Python")))
+				.thenReturn(List.of(deletion(2)));
+
+		changeLog.poll();
+		assertEquals(1, changeLog.syncedVersion("Java"));
+		assertEquals(0, changeLog.syncedVersion("Python")); // Applied, but version 2 is still missing
+		changeLog.poll();
+
+		assertEquals(2, changeLog.syncedVersion("Java"));
+		assertEquals(3, changeLog.syncedVersion("Python"));
+		assertEquals(0, changeLog.syncedVersion("Kotlin"));
+	}
+
+	@Test
+	void ownWritesAreAheadFromCommitUntilPolledBack() {
+		CatalogChangeLog changeLog = changeLog(0);
+		when(repository.save(any())).thenAnswer(invocation -> {
+			CatalogChange saved = invocation.getArgument(0);
+			saved.setVersion(5);
+			return saved;
+		});
+		Question question = new Question(7, "Java", "Easy", "a", "b", "c", "d", "Title", "a");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			changeLog.recordSaved(question);
+			assertEquals(0, changeLog.ownWritesAhead(null)); // Not committed yet
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertEquals(1, changeLog.ownWritesAhead(null));
+		assertEquals(1, changeLog.ownWritesAhead("Java"));
+		assertEquals(0, changeLog.ownWritesAhead("Python"));
+
+		when(repository.findByVersionGreaterThanOrderByVersionAsc(anyLong(), any(Limit.class)))
+				.thenReturn(List.of(change(5, "Java")));
+		changeLog.poll();
+
+		assertEquals(0, changeLog.ownWritesAhead("Java"));
+		assertEquals(5, changeLog.syncedVersion("Java"));
+	}
+
+	private CatalogChangeLog changeLog(long gapTimeoutMillis) {
+		QuestionChangeListener listener = new QuestionChangeListener() {
+			@Override
+			public void onQuestionSaved(Question question) {
+			}
+
+			@Override
+			public void onQuestionDeleted(Question question) {
+				deleted.add(question.getId());
+			}
+		};
+		return new CatalogChangeLog(repository, null, List.of(listener), new SimpleMeterRegistry(),
+				true, 1000, 500, gapTimeoutMillis, 60);
+	}
+
+	private static CatalogChange deletion(int version) {
+		return change(version, "Java");
+	}
+
+	private static CatalogChange change(int version, String category) {
+		return new CatalogChange(version, CatalogChange.Type.DELETED, version, category, "Easy", "other-instance", Instant.now());
+	}
+}
@@ -0,0 +1,54 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogSnapshotStoreTests {
+
+	private static final List<Question> QUESTIONS = List.of(
+			new Question(3, "Java", "Easy", "1", "2", "3", "4", "Which number?", "2"),
+			new Question(7, "Java", "Hard", "α", "β", null, "δ", "Welches Zeichen – ünïcödé?", "β"),
+			new Question(12, "Python", null, "a", "b", "c", "d", "", "d")
+	);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readReturnsWhatWasWritten() throws IOException {
+		Path file = directory.resolve("catalog.bin");
+		CatalogSnapshotStore.write(QUESTIONS, file);
+
+		assertEquals(QUESTIONS, CatalogSnapshotStore.read(file, 3, 12));
+	}
+
+	@Test
+	void readReturnsNullWhenDatabaseDiffers() throws IOException {
+		Path file = directory.resolve("catalog.bin");
+		CatalogSnapshotStore.write(QUESTIONS, file);
+
+		assertNull(CatalogSnapshotStore.read(file, 4, 12));
+		assertNull(CatalogSnapshotStore.read(file, 3, 13));
+	}
+
+	@Test
+	void readRejectsCorruptFile() throws IOException {
+		Path file = directory.resolve("catalog.bin");
+		CatalogSnapshotStore.write(QUESTIONS, file);
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length / 2] ^= 1;
+		Files.write(file, bytes);
+
+		assertThrows(IOException.class, () -> CatalogSnapshotStore.read(file, 3, 12));
+	}
+}
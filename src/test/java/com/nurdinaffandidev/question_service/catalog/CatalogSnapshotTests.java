@@ -0,0 +1,104 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CatalogSnapshotTests {
+
+	@Test
+	void ofIndexesQuestionsByCategoryAndBucketInIdOrder() {
+		CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+				question(3, "Java", "Easy"),
+				question(1, "Java", "Hard"),
+				question(2, "Java", "Easy"),
+				question(4, "Python", "Easy")), System.nanoTime());
+
+		assertEquals(4, snapshot.size());
+		assertEquals(2, snapshot.categoryCount());
+		assertArrayEquals(new int[]{1, 2, 3}, snapshot.idsForCategory("Java"));
+		assertArrayEquals(new int[]{4}, snapshot.idsForCategory("Python"));
+		assertArrayEquals(new int[]{2, 3}, snapshot.idsForBucket("Java", "Easy"));
+		assertArrayEquals(new int[]{1}, snapshot.idsForBucket("Java", "Hard"));
+		assertArrayEquals(new int[0], snapshot.idsForCategory("Go"));
+		assertArrayEquals(new int[0], snapshot.idsForBucket("Python", "Hard"));
+	}
+
+	@Test
+	void storesDetachedCopies() {
+		Question original = question(1, "Java", "Easy");
+		CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(original), System.nanoTime());
+
+		original.setCategory("Python");
+
+		assertEquals("Java", snapshot.get(1).getCategory());
+		assertNotSame(original, snapshot.get(1));
+	}
+
+	@Test
+	void withAddsToTheIndexesAndLeavesTheOldSnapshotUnchanged() {
+		CatalogSnapshot before = CatalogSnapshot.of(List.of(question(1, "Java", "Easy")), System.nanoTime());
+
+		CatalogSnapshot after = before.with(question(5, "Java", "Easy"));
+
+		assertArrayEquals(new int[]{1, 5}, after.idsForCategory("Java"));
+		assertArrayEquals(new int[]{1, 5}, after.idsForBucket("Java", "Easy"));
+		assertEquals(2, after.size());
+		assertArrayEquals(new int[]{1}, before.idsForCategory("Java"));
+		assertNull(before.get(5));
+		assertEquals(1, before.size());
+	}
+
+	@Test
+	void withMovesAnUpdatedQuestionOutOfItsOldCategoryAndBucket() {
+		CatalogSnapshot before = CatalogSnapshot.of(List.of(
+				question(1, "Java", "Easy"),
+				question(2, "Java", "Easy")), System.nanoTime());
+
+		CatalogSnapshot after = before.with(question(2, "Python", "Hard"));
+
+		assertEquals(2, after.size());
+		assertEquals("Python", after.get(2).getCategory());
+		assertArrayEquals(new int[]{1}, after.idsForCategory("Java"));
+		assertArrayEquals(new int[]{1}, after.idsForBucket("Java", "Easy"));
+		assertArrayEquals(new int[]{2}, after.idsForCategory("Python"));
+		assertArrayEquals(new int[]{2}, after.idsForBucket("Python", "Hard"));
+		assertArrayEquals(new int[]{1, 2}, before.idsForBucket("Java", "Easy"));
+	}
+
+	@Test
+	void withoutDropsEmptyCategoriesAndBuckets() {
+		CatalogSnapshot before = CatalogSnapshot.of(List.of(
+				question(1, "Java", "Easy"),
+				question(2, "Python", "Easy")), System.nanoTime());
+
+		CatalogSnapshot after = before.without(2);
+
+		assertNull(after.get(2));
+		assertEquals(1, after.size());
+		assertEquals(1, after.categoryCount());
+		assertArrayEquals(new int[0], after.idsForCategory("Python"));
+		assertArrayEquals(new int[0], after.idsForBucket("Python", "Easy"));
+		assertEquals(2, before.categoryCount());
+		assertEquals("Python", before.get(2).getCategory());
+	}
+
+	@Test
+	void withoutAnUnknownIdReturnsTheSameSnapshot() {
+		CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(question(1, "Java", "Easy")), System.nanoTime());
+
+		assertSame(snapshot, snapshot.without(99));
+		assertSame(CatalogSnapshot.empty(), CatalogSnapshot.empty().without(1));
+	}
+
+	private static Question question(int id, String category, String difficulty) {
+		return new Question(id, category, difficulty, "a", "b", "c", "d", "title " + id, "a");
+	}
+}
@@ -0,0 +1,109 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionsTests {
+
+	private final CatalogVersions versions = versions(null);
+
+	@Test
+	void categoryTagsOnlyMoveWithTheirCategory() {
+		String java = versions.categoryTag("Java", null);
+		String python = versions.categoryTag("Python", null);
+		String all = versions.catalogTag(null);
+
+		versions.onQuestionSaved(question("Python"));
+
+		assertEquals(java, versions.categoryTag("Java", null));
+		assertNotEquals(python, versions.categoryTag("Python", null));
+		assertNotEquals(all, versions.catalogTag(null));
+		assertNotEquals(java, versions.categoryTag("Java", "cbor"));
+	}
+
+	@Test
+	void importsMoveEveryTag() {
+		String java = versions.categoryTag("Java", null);
+		String ids = versions.idsTag(List.of(3, 1), null);
+
+		versions.onCatalogChanged();
+
+		assertNotEquals(java, versions.categoryTag("Java", null));
+		assertNotEquals(ids, versions.idsTag(List.of(3, 1), null));
+	}
+
+	@Test
+	void idTagsDependOnIdsAndOrder() {
+		assertEquals(versions.idsTag(List.of(3, 1), null), versions.idsTag(List.of(3, 1), null));
+		assertNotEquals(versions.idsTag(List.of(3, 1), null), versions.idsTag(List.of(1, 3), null));
+		assertNotEquals(versions.idsTag(List.of(3), null), versions.idsTag(List.of(3, 3), null));
+	}
+
+	@Test
+	void syncedTagsMatchAcrossInstancesAndFollowTheChangeLog() {
+		CatalogChangeLog changeLog = syncedChangeLog();
+		CatalogVersions replicaA = versions(changeLog);
+		CatalogVersions replicaB = versions(changeLog);
+
+		assertEquals(replicaA.catalogTag(null), replicaB.catalogTag(null));
+		assertEquals(replicaA.categoryTag("Java", "cbor"), replicaB.categoryTag("Java", "cbor"));
+		assertEquals(replicaA.idsTag(List.of(3, 1), null), replicaB.idsTag(List.of(3, 1), null));
+
+		String java = replicaA.categoryTag("Java", null);
+		String python = replicaA.categoryTag("Python", null);
+		String ids = replicaA.idsTag(List.of(3, 1), null);
+		when(changeLog.syncedVersion()).thenReturn(42L);
+		when(changeLog.syncedVersion("Python")).thenReturn(42L);
+
+		assertEquals(java, replicaA.categoryTag("Java", null)); // Only Python changed
+		assertNotEquals(python, replicaA.categoryTag("Python", null));
+		assertNotEquals(ids, replicaA.idsTag(List.of(3, 1), null));
+	}
+
+	@Test
+	void ownWritesMoveTagsBeforeTheChangeLogCoversThem() {
+		CatalogChangeLog writerLog = syncedChangeLog();
+		CatalogVersions writer = versions(writerLog);
+		CatalogVersions other = versions(syncedChangeLog());
+		// The writer committed a Java change its poller has not read back yet
+		when(writerLog.ownWritesAhead(null)).thenReturn(1L);
+		when(writerLog.ownWritesAhead("Java")).thenReturn(1L);
+
+		assertNotEquals(other.catalogTag(null), writer.catalogTag(null));
+		assertNotEquals(other.categoryTag("Java", null), writer.categoryTag("Java", null));
+		assertEquals(other.categoryTag("Python", null), writer.categoryTag("Python", null));
+
+		String java = writer.categoryTag("Java", null);
+		when(writerLog.ownWritesAhead(null)).thenReturn(2L);
+		when(writerLog.ownWritesAhead("Java")).thenReturn(2L);
+		assertNotEquals(java, writer.categoryTag("Java", null));
+	}
+
+	private static CatalogChangeLog syncedChangeLog() {
+		CatalogChangeLog changeLog = mock(CatalogChangeLog.class);
+		when(changeLog.isEnabled()).thenReturn(true);
+		when(changeLog.syncedVersion()).thenReturn(41L);
+		when(changeLog.syncedVersion("Java")).thenReturn(30L);
+		when(changeLog.syncedVersion("Python")).thenReturn(41L);
+		return changeLog;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CatalogVersions versions(CatalogChangeLog changeLog) {
+		ObjectProvider<CatalogChangeLog> provider = mock(ObjectProvider.class);
+		when(provider.getIfAvailable()).thenReturn(changeLog);
+		return new CatalogVersions(provider, true);
+	}
+
+	private static Question question(String category) {
+		return new Question(1, category, "Easy", "a", "b", "c", "d", "Title", "a");
+	}
+}
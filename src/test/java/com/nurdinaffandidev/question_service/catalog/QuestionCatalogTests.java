@@ -0,0 +1,66 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.CatalogStats;
+import com.nurdinaffandidev.question_service.model.Question;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuestionCatalogTests {
+
+	@Test
+	void findCountsHitsAndMisses() {
+		QuestionCatalog catalog = catalog(true);
+		catalog.put(question(1, "Java"));
+
+		assertEquals("Java", catalog.find(1).getCategory());
+		assertEquals("Java", catalog.find(1).getCategory());
+		assertNull(catalog.find(2));
+
+		CatalogStats stats = catalog.stats();
+		assertEquals(2, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(1, stats.getSize());
+		assertEquals(1, stats.getCategories());
+	}
+
+	@Test
+	void listenerHooksKeepTheCategoryIndexCurrent() {
+		QuestionCatalog catalog = catalog(true);
+
+		catalog.onQuestionSaved(question(1, "Java"));
+		catalog.onQuestionSaved(question(2, "Java"));
+		assertArrayEquals(new int[]{1, 2}, catalog.snapshot().idsForCategory("Java"));
+
+		catalog.onQuestionSaved(question(2, "Python"));
+		assertArrayEquals(new int[]{1}, catalog.snapshot().idsForCategory("Java"));
+		assertArrayEquals(new int[]{2}, catalog.snapshot().idsForCategory("Python"));
+
+		catalog.onQuestionDeleted(question(1, "Java"));
+		assertArrayEquals(new int[0], catalog.snapshot().idsForCategory("Java"));
+		assertEquals(1, catalog.stats().getCategories());
+	}
+
+	@Test
+	void disabledCatalogStaysEmptyAndDoesNotCount() {
+		QuestionCatalog catalog = catalog(false);
+		catalog.put(question(1, "Java"));
+
+		assertNull(catalog.find(1));
+
+		CatalogStats stats = catalog.stats();
+		assertEquals(0, stats.getSize());
+		assertEquals(0, stats.getHits());
+		assertEquals(0, stats.getMisses());
+	}
+
+	private static QuestionCatalog catalog(boolean enabled) {
+		return new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), enabled);
+	}
+
+	private static Question question(int id, String category) {
+		return new Question(id, category, "Easy", "a", "b", "c", "d", "title " + id, "a");
+	}
+}
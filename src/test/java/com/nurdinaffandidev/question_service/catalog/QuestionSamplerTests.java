@@ -0,0 +1,40 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionSamplerTests {
+
+	private final int[] ids = IntStream.rangeClosed(1, 1000).toArray();
+
+	@Test
+	void sampleReturnsDistinctIdsFromSource() {
+		int[] sampled = QuestionSampler.sample(ids, 20, new Random(7));
+
+		assertEquals(20, sampled.length);
+		assertEquals(20, Arrays.stream(sampled).distinct().count());
+		assertTrue(Arrays.stream(sampled).allMatch(id -> id >= 1 && id <= 1000));
+	}
+
+	@Test
+	void sampleIsReproducibleWithSeed() {
+		assertArrayEquals(QuestionSampler.sample(ids, 20, new Random(42)), QuestionSampler.sample(ids, 20, new Random(42)));
+		assertArrayEquals(QuestionSampler.sample(ids, 600, new Random(42)), QuestionSampler.sample(ids, 600, new Random(42)));
+	}
+
+	@Test
+	void sampleIsCappedAtSourceSize() {
+		int[] sampled = QuestionSampler.sample(new int[]{3, 5, 9}, 10, new Random(1));
+
+		assertEquals(3, sampled.length);
+		assertArrayEquals(new int[]{3, 5, 9}, Arrays.stream(sampled).sorted().toArray());
+		assertEquals(0, QuestionSampler.sample(new int[0], 5, new Random(1)).length);
+	}
+}
@@ -0,0 +1,86 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionSearchIndexTests {
+
+	private QuestionCatalog catalog;
+
+	private QuestionSearchIndex index;
+
+	@BeforeEach
+	void buildIndex() {
+		catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		catalog.put(question(1, "Java", "Easy", "Which Java keyword creates a subclass?", "class", "extends", "implements", "super"));
+		catalog.put(question(2, "Java", "Hard", "What does the volatile keyword guarantee?", "visibility", "atomicity", "ordering", "nothing"));
+		catalog.put(question(3, "Python", "Easy", "Which keyword defines a function?", "def", "func", "lambda", "fn"));
+		catalog.put(question(4, "Python", "Easy", "Which module handles dates?", "datetime", "math", "os", "sys"));
+		index = new QuestionSearchIndex(null, catalog, true);
+		index.reload();
+	}
+
+	@Test
+	void ranksQuestionsMatchingMoreAndRarerTermsFirst() {
+		List<Integer> both = index.search("java keyword", null, null, 10);
+		assertEquals(1, both.get(0));
+		assertEquals(Set.of(1, 2, 3), Set.copyOf(both));
+		assertEquals(List.of(4), index.search("DATETIME", null, null, 10));
+		assertEquals(List.of(1), index.search("java keyword", null, null, 1));
+		assertEquals(List.of(), index.search("kotlin", null, null, 10));
+	}
+
+	@Test
+	void appliesCategoryAndDifficultyFilters() {
+		assertEquals(List.of(3), index.search("keyword", "Python", null, 10));
+		assertEquals(List.of(2), index.search("keyword", null, "Hard", 10));
+		assertEquals(List.of(), index.search("keyword", "Python", "Hard", 10));
+	}
+
+	@Test
+	void followsAddsAndDeletes() {
+		Question added = question(5, "Python", "Medium", "Which keyword exits a loop early?", "break", "stop", "exit", "return");
+		index.onQuestionSaved(added);
+		assertEquals(List.of(5), index.search("loop", null, null, 10));
+
+		index.onQuestionDeleted(added);
+		index.onQuestionDeleted(catalog.find(4));
+		assertEquals(List.of(), index.search("loop datetime", null, null, 10));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void keepsChangesMadeWhileReloading() {
+		QuestionRepository repository = mock(QuestionRepository.class);
+		QuestionSearchIndex fromDatabase = new QuestionSearchIndex(repository,
+				new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), false), true);
+		Question added = question(5, "Python", "Medium", "Which keyword exits a loop early?", "break", "stop", "exit", "return");
+		List<Question> rows = List.copyOf(catalog.snapshot().questions());
+		when(repository.findAll()).thenReturn(rows).thenAnswer(invocation -> {
+			// Committed after the rows below were read, so they are missing from them
+			fromDatabase.onQuestionSaved(added);
+			fromDatabase.onQuestionDeleted(catalog.find(4));
+			return rows;
+		});
+		fromDatabase.reload();
+
+		fromDatabase.reload();
+
+		assertEquals(List.of(5), fromDatabase.search("loop", null, null, 10));
+		assertEquals(List.of(), fromDatabase.search("datetime", null, null, 10));
+		assertEquals(4, fromDatabase.size());
+	}
+
+	private static Question question(int id, String category, String difficulty, String title, String... options) {
+		return new Question(id, category, difficulty, options[0], options[1], options[2], options[3], title, options[1]);
+	}
+}
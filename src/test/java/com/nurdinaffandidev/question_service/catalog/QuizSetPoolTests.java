@@ -0,0 +1,79 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuizSetPoolTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void categoryChangeDiscardsStaleSets() {
+		QuizSetPool pool = pool(2, 8);
+		assertNull(pool.poll("Java", 5));
+		assertNull(pool.poll("Java", 5)); // Second request makes the pair hot
+		pool.refillAll();
+
+		assertEquals(5, pool.poll("Java", 5).length);
+		pool.onQuestionSaved(question(1, "Python"));
+		assertNotNull(pool.poll("Java", 5)); // Other categories do not invalidate Java sets
+
+		pool.onQuestionDeleted(question(2, "Java"));
+		assertNull(pool.poll("Java", 5));
+		assertEquals(2, meterRegistry.get("question.pool.discarded").counter().count());
+
+		pool.refillAll();
+		assertNotNull(pool.poll("Java", 5));
+		pool.onCatalogChanged();
+		assertNull(pool.poll("Java", 5));
+	}
+
+	@Test
+	void decayLetsNewPairsBeTracked() {
+		QuizSetPool pool = pool(100, 1); // Tracks at most 4 pairs
+		for (int size = 1; size <= 5; size++) {
+			pool.poll("Java", size);
+		}
+		assertEquals(4, pool.trackedPairs());
+
+		pool.decayRequestCounts();
+		assertEquals(0, pool.trackedPairs());
+		pool.poll("Java", 5);
+		assertEquals(1, pool.trackedPairs());
+	}
+
+	@Test
+	void decayHalvesCountsOfFrequentPairs() {
+		QuizSetPool pool = pool(4, 8);
+		for (int i = 0; i < 3; i++) {
+			pool.poll("Java", 5);
+		}
+		pool.decayRequestCounts(); // 3 -> 1
+		pool.poll("Java", 5);
+		pool.poll("Java", 5);
+		pool.refillAll();
+		assertNull(pool.poll("Java", 5)); // 3 requests counted, below the threshold of 4
+
+		pool.poll("Java", 5);
+		pool.refillAll();
+		assertNotNull(pool.poll("Java", 5));
+	}
+
+	private QuizSetPool pool(long hotThreshold, int maxKeys) {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		for (int id = 1; id <= 50; id++) {
+			catalog.put(question(id, id % 2 == 0 ? "Java" : "Python"));
+		}
+		QuestionSampler sampler = new QuestionSampler(catalog, "memory", 7L);
+		return new QuizSetPool(sampler, meterRegistry, true, 4, hotThreshold, maxKeys, 20, 10_000);
+	}
+
+	private static Question question(int id, String category) {
+		return new Question(id, category, "Easy", "a", "b", "c", "d", "Question " + id, "a");
+	}
+}
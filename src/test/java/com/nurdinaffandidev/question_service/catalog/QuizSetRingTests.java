@@ -0,0 +1,99 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizSetRingTests {
+
+	@Test
+	void offerFailsWhenFullAndPollReturnsInOrder() {
+		QuizSetRing ring = new QuizSetRing(3);
+		assertEquals(4, ring.capacity());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.offer(new QuizSetRing.Entry(new int[]{i}, i)));
+		}
+		assertFalse(ring.offer(new QuizSetRing.Entry(new int[]{4}, 4)));
+
+		for (int i = 0; i < 4; i++) {
+			assertEquals(i, ring.poll().generation());
+		}
+		assertNull(ring.poll());
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	void everyEntryIsTakenExactlyOnceByConcurrentProducersAndConsumers() throws InterruptedException {
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 25_000;
+		int total = producers * perProducer;
+		QuizSetRing ring = new QuizSetRing(64);
+		AtomicIntegerArray taken = new AtomicIntegerArray(total);
+		AtomicInteger consumed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+
+		for (int p = 0; p < producers; p++) {
+			int first = p * perProducer;
+			threads.add(new Thread(() -> {
+				await(start);
+				for (int value = first; value < first + perProducer; value++) {
+					QuizSetRing.Entry entry = new QuizSetRing.Entry(new int[]{value}, value);
+					while (!ring.offer(entry)) {
+						LockSupport.parkNanos(1_000);
+					}
+				}
+			}));
+		}
+		for (int c = 0; c < consumers; c++) {
+			threads.add(new Thread(() -> {
+				await(start);
+				while (consumed.get() < total) {
+					QuizSetRing.Entry entry = ring.poll();
+					if (entry == null) {
+						LockSupport.parkNanos(1_000);
+						continue;
+					}
+					assertEquals(entry.generation(), entry.questionIds()[0]);
+					taken.incrementAndGet((int) entry.generation());
+					consumed.incrementAndGet();
+				}
+			}));
+		}
+		threads.forEach(thread -> {
+			thread.setDaemon(true);
+			thread.start();
+		});
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join(60_000);
+			assertFalse(thread.isAlive(), "ring stopped making progress");
+		}
+
+		assertEquals(total, consumed.get());
+		for (int value = 0; value < total; value++) {
+			assertEquals(1, taken.get(value), "entry " + value);
+		}
+		assertNull(ring.poll());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeenQuestionTrackerTests {
+
+	@Test
+	void seenSetMatchesAHashSetAcrossArrayAndBitmapContainers() {
+		SeenQuestionSet seen = new SeenQuestionSet();
+		Set<Integer> expected = new HashSet<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			int id = i % 2 == 0 ? random.nextInt(8_000) : 70_000 + random.nextInt(1_000_000);
+			assertEquals(expected.add(id), seen.add(id));
+		}
+		for (int id = 0; id < 80_000; id++) {
+			assertEquals(expected.contains(id), seen.contains(id));
+		}
+		assertEquals(expected.size(), seen.cardinality());
+	}
+
+	@Test
+	void seenSetStaysCompact() {
+		SeenQuestionSet seen = new SeenQuestionSet();
+		for (int id = 1; id <= 300; id++) {
+			seen.add(id * 7);
+		}
+		assertTrue(seen.sizeInBytes() < 1_000, "300 ids took " + seen.sizeInBytes() + " bytes");
+
+		for (int id = 0; id < 65_536; id++) {
+			seen.add(id);
+		}
+		assertTrue(seen.sizeInBytes() < 8_400, "65536 ids took " + seen.sizeInBytes() + " bytes");
+	}
+
+	@Test
+	void drawsEveryQuestionOnceBeforeRepeating() {
+		SeenQuestionTracker tracker = new SeenQuestionTracker(catalog(100), new SimpleMeterRegistry(), true, 10, 1 << 20);
+
+		Set<Integer> given = new HashSet<>();
+		for (int round = 0; round < 10; round++) {
+			for (int id : tracker.sampleUnseen("alice", "Java", 10)) {
+				assertTrue(given.add(id), "question " + id + " repeated");
+			}
+		}
+		assertEquals(100, given.size());
+
+		assertEquals(7, distinct(tracker.sampleUnseen("alice", "Java", 7)));
+		assertEquals(10, distinct(tracker.sampleUnseen("bob", "Java", 10)));
+		assertEquals(0, tracker.sampleUnseen("alice", "Kotlin", 10).length);
+	}
+
+	@Test
+	void startsOverWithTheLeftoversWhenTheCategoryRunsOut() {
+		SeenQuestionTracker tracker = new SeenQuestionTracker(catalog(10), new SimpleMeterRegistry(), true, 10, 1 << 20);
+		Set<Integer> first = new HashSet<>();
+		for (int id : tracker.sampleUnseen("alice", "Java", 8)) {
+			first.add(id);
+		}
+
+		int[] second = tracker.sampleUnseen("alice", "Java", 5);
+		assertEquals(5, distinct(second));
+		int leftovers = 0;
+		for (int id : second) {
+			leftovers += first.contains(id) ? 0 : 1;
+		}
+		assertEquals(2, leftovers);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedSetsOverTheLimits() {
+		SeenQuestionTracker tracker = new SeenQuestionTracker(catalog(100), new SimpleMeterRegistry(), true, 3, 1 << 20);
+		for (String user : new String[]{"a", "b", "c", "d"}) {
+			tracker.sampleUnseen(user, "Java", 5);
+		}
+		assertEquals(3, tracker.size());
+
+		SeenQuestionTracker small = new SeenQuestionTracker(catalog(100), new SimpleMeterRegistry(), true, 100, 400);
+		for (String user : new String[]{"a", "b", "c", "d"}) {
+			small.sampleUnseen(user, "Java", 5);
+		}
+		assertTrue(small.sizeInBytes() <= 400);
+		assertTrue(small.size() < 4);
+	}
+
+	private static QuestionCatalog catalog(int size) {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		for (int id = 1; id <= size; id++) {
+			catalog.put(new Question(id, "Java", "Easy", "a", "b", "c", "d", "Question " + id, "a"));
+		}
+		return catalog;
+	}
+
+	private static int distinct(int[] ids) {
+		Set<Integer> set = new HashSet<>();
+		for (int id : ids) {
+			set.add(id);
+		}
+		return set.size();
+	}
+}
@@ -0,0 +1,61 @@
+package com.nurdinaffandidev.question_service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WrapperJsonCacheTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final WrapperJsonCache cache = new WrapperJsonCache(objectMapper, new SimpleMeterRegistry(), true, 2);
+
+	@Test
+	void producesTheSameJsonAsJackson() throws Exception {
+		List<QuestionWrapper> wrappers = List.of(
+				new QuestionWrapper(1, "a", "b", "c", "d", "Which \"quoted\" letter?"),
+				new QuestionWrapper(2, "α", null, "γ", "δ", "Welches Zeichen?"),
+				new QuestionWrapper(3, "x", "y", "z", "w", "Last"));
+
+		for (int round = 0; round < 2; round++) {
+			assertEquals(objectMapper.writeValueAsString(wrappers),
+					new String(cache.toJsonArray(wrappers), StandardCharsets.UTF_8));
+		}
+		assertEquals("[]", new String(cache.toJsonArray(List.of()), StandardCharsets.UTF_8));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void neverServesTextOfAChangedQuestion() {
+		cache.toJsonArray(List.of(new QuestionWrapper(1, "a", "b", "c", "d", "Old title")));
+
+		String json = new String(cache.toJsonArray(List.of(new QuestionWrapper(1, "a", "b", "c", "d", "New title"))),
+				StandardCharsets.UTF_8);
+		assertEquals(true, json.contains("New title"));
+
+		cache.onQuestionDeleted(new Question(1, "Java", "Easy", "a", "b", "c", "d", "New title", "a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void buffersAreSharedAcrossThreadsAndLargeOnesDropped() throws Exception {
+		List<QuestionWrapper> wrappers = List.of(new QuestionWrapper(1, "a", "b", "c", "d", "Title"));
+		for (int i = 0; i < 3; i++) {
+			Thread thread = new Thread(() -> cache.toJsonArray(wrappers));
+			thread.start();
+			thread.join();
+		}
+		assertEquals(1, cache.pooledBuffers()); // Each new thread reused the same buffer
+
+		String title = "x".repeat(2 << 20);
+		cache.toJsonArray(List.of(new QuestionWrapper(2, "a", "b", "c", "d", title)));
+		assertEquals(0, cache.pooledBuffers());
+	}
+}
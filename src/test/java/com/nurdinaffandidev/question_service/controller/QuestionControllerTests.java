@@ -0,0 +1,79 @@
+package com.nurdinaffandidev.question_service.controller;
+
+import com.nurdinaffandidev.question_service.catalog.CatalogVersions;
+import com.nurdinaffandidev.question_service.catalog.WrapperJsonCache;
+import com.nurdinaffandidev.question_service.exceptionHandler.GlobalExceptionHandler;
+import com.nurdinaffandidev.question_service.service.QuestionExportService;
+import com.nurdinaffandidev.question_service.service.QuestionImportService;
+import com.nurdinaffandidev.question_service.service.QuestionService;
+import com.nurdinaffandidev.question_service.service.SubmissionScoringService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QuestionControllerTests {
+
+	private final QuestionService questionService = mock(QuestionService.class);
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void createMockMvc() {
+		QuestionController controller = new QuestionController(questionService, mock(QuestionExportService.class),
+				mock(QuestionImportService.class), mock(SubmissionScoringService.class),
+				mock(WrapperJsonCache.class), mock(CatalogVersions.class));
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+				.build();
+	}
+
+	@Test
+	void mixWithoutBucketsIsABadRequest() throws Exception {
+		mix("{}").andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("buckets: must not be empty"));
+		mix("{\"buckets\":[]}").andExpect(status().isBadRequest());
+
+		verify(questionService, never()).generateQuestionIdsByMix(any());
+	}
+
+	@Test
+	void mixBucketsNeedCategoryAndDifficulty() throws Exception {
+		mix("{\"buckets\":[{\"count\":2}]}").andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message")
+						.value("buckets[0].category: must not be blank, buckets[0].difficulty: must not be blank"));
+		mix("{\"buckets\":[null]}").andExpect(status().isBadRequest());
+
+		verify(questionService, never()).generateQuestionIdsByMix(any());
+	}
+
+	@Test
+	void validMixIsPassedToTheService() throws Exception {
+		when(questionService.generateQuestionIdsByMix(any())).thenReturn(List.of(4, 1));
+
+		mix("{\"buckets\":[{\"category\":\"Java\",\"difficulty\":\"Easy\",\"count\":2}]}")
+				.andExpect(status().isOk())
+				.andExpect(content().json("[4,1]"));
+	}
+
+	private ResultActions mix(String body) throws Exception {
+		return mockMvc.perform(post("/question/generate-question-ids/mix")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+}
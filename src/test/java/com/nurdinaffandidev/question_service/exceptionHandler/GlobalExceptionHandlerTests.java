@@ -0,0 +1,52 @@
+package com.nurdinaffandidev.question_service.exceptionHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.exception.QuestionNotFoundException;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	void batchMissListsEveryMissingIdOnce() throws Exception {
+		QuestionsNotFoundException exception = new QuestionsNotFoundException(List.of(999, 7, 999, 8));
+
+		ResponseEntity<ApiError> response = handler.handleQuestionsNotFound(exception);
+		JsonNode body = objectMapper.valueToTree(response.getBody());
+
+		assertEquals(404, response.getStatusCode().value());
+		assertEquals(404, body.get("status").asInt());
+		assertEquals("3 questions not found.", body.get("message").asText());
+		assertEquals(objectMapper.readTree("[999,7,8]"), body.get("missingIds"));
+		assertEquals(0, exception.getStackTrace().length);
+	}
+
+	@Test
+	void singleMissKeepsTheSingleIdMessage() {
+		assertEquals("Question with id= 5 not found.", new QuestionsNotFoundException(List.of(5, 5)).getMessage());
+	}
+
+	@Test
+	void singleIdErrorOmitsMissingIds() {
+		ResponseEntity<ApiError> response = handler.handleQuestionNotFound(
+				new QuestionNotFoundException("Question with id= 5 not found."));
+		JsonNode body = objectMapper.valueToTree(response.getBody());
+
+		assertEquals(404, response.getStatusCode().value());
+		assertEquals("Question with id= 5 not found.", body.get("message").asText());
+		assertFalse(body.has("missingIds"));
+	}
+}
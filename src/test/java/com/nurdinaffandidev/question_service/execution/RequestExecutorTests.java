@@ -0,0 +1,40 @@
+package com.nurdinaffandidev.question_service.execution;
+
+import com.nurdinaffandidev.question_service.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestExecutorTests {
+
+	@Test
+	void rejectsOnceThePoolAndQueueAreFull() throws InterruptedException {
+		RequestExecutor executor = new RequestExecutor(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			CompletableFuture<Boolean> running = executor.supply(() -> await(release));
+			CompletableFuture<Boolean> queued = executor.supply(() -> await(release));
+			assertThrows(ServiceOverloadedException.class, () -> executor.supply(() -> true));
+
+			release.countDown();
+			assertEquals(true, running.join());
+			assertEquals(true, queued.join());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			latch.await();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.nurdinaffandidev.question_service.feign;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import com.nurdinaffandidev.question_service.model.QuizResponse;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CborCodecTests {
+
+	private final ObjectMapper cborMapper = new CBORMapper();
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+
+	private final CborDecoder decoder = new CborDecoder(cborMapper, jsonMapper);
+
+	@Test
+	void encodesRequestBodiesAsCbor() throws Exception {
+		QuizResponse answer = new QuizResponse();
+		answer.setQuestionId(7);
+		answer.setResponse("extends");
+		Type type = new TypeReference<List<QuizResponse>>() {}.getType();
+
+		RequestTemplate template = new RequestTemplate();
+		new CborEncoder(cborMapper).encode(List.of(answer), type, template);
+
+		assertEquals(List.of("application/cbor"), List.copyOf(template.headers().get("Content-Type")));
+		assertEquals(List.of(answer), cborMapper.readValue(template.body(), new TypeReference<List<QuizResponse>>() {}));
+	}
+
+	@Test
+	void decodesCborAndFallsBackToJson() throws Exception {
+		List<QuestionWrapper> wrappers = List.of(new QuestionWrapper(3, "a", "b", null, "d", "Welches Zeichen – ü?"));
+		Type type = new TypeReference<List<QuestionWrapper>>() {}.getType();
+
+		assertEquals(wrappers, decoder.decode(response("application/cbor", cborMapper.writeValueAsBytes(wrappers)), type));
+		assertEquals(wrappers, decoder.decode(response("application/json", jsonMapper.writeValueAsBytes(wrappers)), type));
+		assertEquals(List.of(1, 2, 3), decoder.decode(response("application/cbor",
+				cborMapper.writeValueAsBytes(List.of(1, 2, 3))), new TypeReference<List<Integer>>() {}.getType()));
+	}
+
+	private static Response response(String contentType, byte[] body) {
+		Request request = Request.create(Request.HttpMethod.POST, "/question/retrieve-wrapper-questions",
+				Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+		Map<String, Collection<String>> headers = Map.of("Content-Type", List.of(contentType));
+		return Response.builder().status(200).request(request).headers(headers).body(body).build();
+	}
+}
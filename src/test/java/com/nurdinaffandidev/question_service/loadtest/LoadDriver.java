@@ -0,0 +1,263 @@
+package com.nurdinaffandidev.question_service.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load driver replaying the calls the quiz service makes.
+ *
+ * Every client thread repeatedly picks an endpoint according to the configured mix, sends one
+ * request and waits for the response. Latencies measured after the warm-up are recorded in one
+ * HdrHistogram per endpoint. Because clients wait for each response, latencies under saturation
+ * are understated (coordinated omission); compare runs with the same client count on the same
+ * machine, since the clients share the JVM and CPUs with the service.
+ *
+ * HdrHistogram is not declared in the pom: micrometer-core brings it in, and the packaged
+ * application needs it at runtime anyway.
+ */
+final class LoadDriver {
+
+	/**
+	 * Endpoints in the mix, named by their path under {@code /question/}.
+	 */
+	enum Endpoint {
+		GENERATE("generate-question-ids"),
+		WRAPPERS("retrieve-wrapper-questions"),
+		SCORE("get-score"),
+		WRAPPERS_ASYNC("retrieve-wrapper-questions/async"),
+		SCORE_ASYNC("get-score/async");
+
+		private final String path;
+
+		Endpoint(String path) {
+			this.path = path;
+		}
+
+		String path() {
+			return path;
+		}
+
+		static Endpoint ofPath(String path) {
+			for (Endpoint endpoint : values()) {
+				if (endpoint.path.equals(path)) {
+					return endpoint;
+				}
+			}
+			throw new IllegalArgumentException("Unknown endpoint in load mix: " + path);
+		}
+	}
+
+	/**
+	 * Load shape: client count, timings, endpoint weights and the synthetic catalog the requests draw from.
+	 */
+	record Config(int clients, Duration warmup, Duration duration, Map<Endpoint, Integer> mix,
+				  int quizSize, int catalogSize, int categories) {
+	}
+
+	/**
+	 * Latencies and outcome counts of one endpoint.
+	 */
+	private static final class EndpointStats {
+
+		private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toNanos(1), 3);
+
+		private final LongAdder ok = new LongAdder();
+
+		private final LongAdder rejected = new LongAdder();
+
+		private final LongAdder failed = new LongAdder();
+	}
+
+	private final Config config;
+
+	private final URI baseUri;
+
+	private final HttpClient httpClient;
+
+	private final Endpoint[] weightedEndpoints;
+
+	private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+	LoadDriver(Config config, URI baseUri) {
+		this.config = config;
+		this.baseUri = baseUri;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+
+		List<Endpoint> weighted = new ArrayList<>();
+		config.mix().forEach((endpoint, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				weighted.add(endpoint);
+			}
+		});
+		if (weighted.isEmpty()) {
+			throw new IllegalArgumentException("The load mix has no endpoints with a positive weight");
+		}
+		this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+		config.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+	}
+
+	/**
+	 * Runs the warm-up and the measured phase with all clients.
+	 *
+	 * @return the report of the measured phase
+	 */
+	Map<String, Object> run() throws InterruptedException {
+		long measureFrom = System.nanoTime() + config.warmup().toNanos();
+		long measureUntil = measureFrom + config.duration().toNanos();
+
+		List<Thread> clients = new ArrayList<>(config.clients());
+		for (int i = 0; i < config.clients(); i++) {
+			Thread client = new Thread(() -> runClient(measureFrom, measureUntil), "load-client-" + i);
+			client.start();
+			clients.add(client);
+		}
+		for (Thread client : clients) {
+			client.join();
+		}
+		return report();
+	}
+
+	private void runClient(long measureFrom, long measureUntil) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (true) {
+			long start = System.nanoTime();
+			if (start >= measureUntil) {
+				return;
+			}
+			Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+			int status;
+			try {
+				status = httpClient.send(request(endpoint, random), HttpResponse.BodyHandlers.discarding()).statusCode();
+			} catch (IOException e) {
+				status = -1;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			long latency = System.nanoTime() - start;
+
+			if (start >= measureFrom) {
+				EndpointStats endpointStats = stats.get(endpoint);
+				endpointStats.recorder.recordValue(Math.min(latency, TimeUnit.MINUTES.toNanos(1)));
+				if (status >= 200 && status < 300) {
+					endpointStats.ok.increment();
+				} else if (status == 503) {
+					endpointStats.rejected.increment();
+				} else {
+					endpointStats.failed.increment();
+				}
+			}
+		}
+	}
+
+	private HttpRequest request(Endpoint endpoint, ThreadLocalRandom random) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder()
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json");
+		switch (endpoint) {
+			case GENERATE -> builder
+					.uri(uri(endpoint, "?category=" + QuestionLoadTest.category(random.nextInt(config.categories()))
+							+ "&numQuestions=" + config.quizSize()))
+					.GET();
+			case WRAPPERS, WRAPPERS_ASYNC -> {
+				StringBuilder body = new StringBuilder("[");
+				for (int i = 0; i < config.quizSize(); i++) {
+					body.append(i == 0 ? "" : ",").append(randomId(random));
+				}
+				builder.uri(uri(endpoint, "")).POST(json(body.append(']')));
+			}
+			case SCORE, SCORE_ASYNC -> {
+				StringBuilder body = new StringBuilder("[");
+				for (int i = 0; i < config.quizSize(); i++) {
+					int id = randomId(random);
+					String response = random.nextBoolean() ? QuestionLoadTest.correctAnswer(id) : "wrong";
+					body.append(i == 0 ? "" : ",")
+							.append("{\"questionId\":").append(id)
+							.append(",\"response\":\"").append(response).append("\"}");
+				}
+				builder.uri(uri(endpoint, "")).POST(json(body.append(']')));
+			}
+		}
+		return builder.build();
+	}
+
+	private URI uri(Endpoint endpoint, String query) {
+		return baseUri.resolve("/question/" + endpoint.path() + query);
+	}
+
+	private int randomId(ThreadLocalRandom random) {
+		return 1 + random.nextInt(config.catalogSize());
+	}
+
+	private static HttpRequest.BodyPublisher json(CharSequence body) {
+		return HttpRequest.BodyPublishers.ofString(body.toString());
+	}
+
+	private Map<String, Object> report() {
+		double seconds = config.duration().toNanos() / 1e9;
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		long totalRequests = 0;
+		long totalOk = 0;
+		for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+			EndpointStats endpointStats = entry.getValue();
+			Histogram histogram = endpointStats.recorder.getIntervalHistogram();
+			long ok = endpointStats.ok.sum();
+			long requests = histogram.getTotalCount();
+			totalRequests += requests;
+			totalOk += ok;
+
+			Map<String, Object> latency = new LinkedHashMap<>();
+			latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+			latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+			latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+			latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+			latency.put("max", millis(histogram.getMaxValue()));
+			latency.put("mean", millis(histogram.getMean()));
+
+			Map<String, Object> endpoint = new LinkedHashMap<>();
+			endpoint.put("requests", requests);
+			endpoint.put("ok", ok);
+			endpoint.put("rejected", endpointStats.rejected.sum());
+			endpoint.put("failed", endpointStats.failed.sum());
+			endpoint.put("throughputPerSecond", round(ok / seconds));
+			endpoint.put("latencyMillis", latency);
+			endpoints.put(entry.getKey().path(), endpoint);
+		}
+
+		Map<String, Object> total = new LinkedHashMap<>();
+		total.put("requests", totalRequests);
+		total.put("ok", totalOk);
+		total.put("throughputPerSecond", round(totalOk / seconds));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("endpoints", endpoints);
+		report.put("total", total);
+		return report;
+	}
+
+	private static double millis(double nanos) {
+		return round(nanos / 1e6);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 1000) / 1000.0;
+	}
+}
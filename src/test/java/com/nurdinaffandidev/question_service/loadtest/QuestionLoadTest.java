@@ -0,0 +1,185 @@
+package com.nurdinaffandidev.question_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.QuestionServiceApplication;
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Self-contained load test: starts the service on a random port against a private in-memory
+ * database seeded with a synthetic catalog, drives it with {@link LoadDriver} and writes a JSON
+ * report (per-endpoint p50/p90/p99/p99.9 latency and throughput) that can be compared between builds.
+ *
+ * Skipped unless {@code -Dloadtest=true}. Load shape is set with {@code loadtest.*} properties;
+ * {@code question.*}, {@code spring.*}, {@code server.*} and {@code management.*} system properties
+ * are passed on to the application, e.g. to compare engines:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=QuestionLoadTest -Dloadtest=true -Dloadtest.clients=64 -Dloadtest.duration-seconds=60
+ * ./mvnw test -Dtest=QuestionLoadTest -Dloadtest=true -Dquestion.catalog.enabled=false -Dloadtest.report=target/no-catalog.json
+ * </pre>
+ *
+ * The async endpoints can be driven on their own, e.g. to size the async thread pool:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=QuestionLoadTest -Dloadtest=true -Dloadtest.clients=1000 -Dquestion.execution.async-threads=128 \
+ *     -Dloadtest.mix=retrieve-wrapper-questions/async:1,get-score/async:1 -Dloadtest.report=target/async.json
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class QuestionLoadTest {
+
+	private static final int CATEGORIES = 100;
+
+	private static final int INSERT_BATCH_SIZE = 10_000;
+
+	private static final List<String> PASSED_THROUGH = List.of("question.", "spring.", "server.", "management.");
+
+	/**
+	 * @param index category index
+	 * @return the synthetic category name
+	 */
+	static String category(int index) {
+		return "Category-" + index;
+	}
+
+	/**
+	 * @param id question id
+	 * @return the correct answer of synthetic question {@code id}
+	 */
+	static String correctAnswer(int id) {
+		return "Option " + (id % 4 + 1) + " of question " + id;
+	}
+
+	@Test
+	void replayQuizServiceTraffic() throws Exception {
+		LoadDriver.Config config = new LoadDriver.Config(
+				Integer.getInteger("loadtest.clients", 32),
+				Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+				Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+				parseMix(System.getProperty("loadtest.mix", "generate-question-ids:2,retrieve-wrapper-questions:2,get-score:1")),
+				Integer.getInteger("loadtest.quiz-size", 10),
+				Integer.getInteger("loadtest.catalog-size", 100_000),
+				CATEGORIES);
+		Path reportPath = Paths.get(System.getProperty("loadtest.report", "target/load-test-report.json"));
+
+		Map<String, Object> applicationProperties = applicationProperties();
+		try (ConfigurableApplicationContext context = start(applicationProperties)) {
+			seed(context, config.catalogSize());
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+			Instant startedAt = Instant.now();
+			Map<String, Object> results = new LoadDriver(config, URI.create("http://localhost:" + port)).run();
+
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("startedAt", startedAt.toString());
+			report.put("config", config);
+			report.put("applicationProperties", applicationProperties);
+			report.putAll(results);
+			write(report, reportPath);
+
+			@SuppressWarnings("unchecked")
+			Map<String, Object> total = (Map<String, Object>) results.get("total");
+			assertTrue((long) total.get("ok") > 0, "No request succeeded, see " + reportPath);
+		}
+	}
+
+	private static Map<LoadDriver.Endpoint, Integer> parseMix(String mix) {
+		Map<LoadDriver.Endpoint, Integer> weights = new EnumMap<>(LoadDriver.Endpoint.class);
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			weights.put(LoadDriver.Endpoint.ofPath(parts[0].trim()), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+		}
+		return weights;
+	}
+
+	/**
+	 * Test defaults, overridden by matching system properties.
+	 */
+	private static Map<String, Object> applicationProperties() {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("server.port", 0);
+		properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		properties.put("spring.sql.init.mode", "never");
+		properties.put("eureka.client.enabled", false);
+		properties.put("question.snapshot.enabled", false);
+		properties.put("logging.level.root", "WARN");
+		System.getProperties().stringPropertyNames().stream()
+				.filter(name -> PASSED_THROUGH.stream().anyMatch(name::startsWith))
+				.sorted()
+				.forEach(name -> properties.put(name, System.getProperty(name)));
+		return properties;
+	}
+
+	private static ConfigurableApplicationContext start(Map<String, Object> properties) {
+		// Passed as command-line arguments so they take precedence over application.properties
+		List<String> args = new ArrayList<>(properties.size());
+		properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+		return new SpringApplicationBuilder(QuestionServiceApplication.class).run(args.toArray(String[]::new));
+	}
+
+	private static void seed(ConfigurableApplicationContext context, int size) {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		String sql = "INSERT INTO question (category, difficulty, option1, option2, option3, option4, question_title, correct_answer) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+		String[] difficulties = {"Easy", "Medium", "Hard"};
+		List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+		for (int id = 1; id <= size; id++) {
+			batch.add(new Object[]{
+					category(id % CATEGORIES),
+					difficulties[id % difficulties.length],
+					"Option 1 of question " + id,
+					"Option 2 of question " + id,
+					"Option 3 of question " + id,
+					"Option 4 of question " + id,
+					"Synthetic question number " + id + " about topic " + (id % 997),
+					correctAnswer(id)
+			});
+			if (batch.size() == INSERT_BATCH_SIZE || id == size) {
+				jdbcTemplate.batchUpdate(sql, batch);
+				batch.clear();
+			}
+		}
+
+		// Indexes are loaded at startup, before the rows above existed
+		QuestionCatalog questionCatalog = context.getBean(QuestionCatalog.class);
+		if (questionCatalog.isEnabled()) {
+			questionCatalog.reload();
+		}
+		AnswerKeyIndex answerKeyIndex = context.getBean(AnswerKeyIndex.class);
+		if (answerKeyIndex.isEnabled()) {
+			answerKeyIndex.reload();
+		}
+	}
+
+	private static void write(Map<String, Object> report, Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+		System.out.println("Load test report written to " + path.toAbsolutePath());
+		System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report.get("endpoints")));
+	}
+}
@@ -0,0 +1,140 @@
+package com.nurdinaffandidev.question_service.repository;
+
+import com.nurdinaffandidev.question_service.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionLoaderTests {
+
+	private final QuestionRepository repository = mock(QuestionRepository.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final QuestionLoader loader = new QuestionLoader(repository, meterRegistry, true, 100, 200, 1);
+
+	@AfterEach
+	void shutdown() {
+		loader.shutdown();
+	}
+
+	@Test
+	void concurrentLoadsOfOneIdShareOneQuery() throws Exception {
+		int callers = 8;
+		CountDownLatch allRequested = new CountDownLatch(callers);
+		when(repository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+			allRequested.await(5, TimeUnit.SECONDS); // Keep the load in flight until every caller has asked
+			return List.of(question(5));
+		});
+
+		ExecutorService callerPool = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<CompletableFuture<Question>>> requests = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				requests.add(callerPool.submit(() -> {
+					CompletableFuture<Question> future = loader.load(5);
+					allRequested.countDown();
+					return future;
+				}));
+			}
+			Set<CompletableFuture<Question>> futures = new HashSet<>();
+			for (Future<CompletableFuture<Question>> request : requests) {
+				futures.add(request.get(5, TimeUnit.SECONDS));
+			}
+
+			assertEquals(1, futures.size());
+			assertEquals(5, futures.iterator().next().get(5, TimeUnit.SECONDS).getId());
+		} finally {
+			callerPool.shutdownNow();
+		}
+		verify(repository, times(1)).findByIdIn(anyCollection());
+		assertEquals(callers - 1, meterRegistry.get("question.loader.coalesced").counter().count());
+	}
+
+	@Test
+	void idsRequestedInOneWindowShareOneInQuery() {
+		when(repository.findByIdIn(anyCollection())).thenReturn(List.of(question(1), question(2), question(3)));
+
+		Map<Integer, Question> loaded = loader.loadAll(List.of(3, 1, 2, 1));
+
+		assertEquals(Set.of(1, 2, 3), loaded.keySet());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+		verify(repository, times(1)).findByIdIn(ids.capture());
+		assertEquals(Set.of(1, 2, 3), new HashSet<>(ids.getValue()));
+		assertEquals(2, meterRegistry.get("question.loader.saved.queries").counter().count());
+	}
+
+	@Test
+	void missingIdsCompleteWithNull() throws Exception {
+		when(repository.findByIdIn(anyCollection())).thenReturn(List.of(question(1)));
+
+		CompletableFuture<Question> found = loader.load(1);
+		CompletableFuture<Question> missing = loader.load(404);
+
+		assertEquals(1, found.get(5, TimeUnit.SECONDS).getId());
+		assertNull(missing.get(5, TimeUnit.SECONDS));
+		assertEquals(Map.of(), loader.loadAll(List.of(405)));
+	}
+
+	@Test
+	void repositoryFailureCompletesEveryFutureOfTheBatch() {
+		IllegalStateException failure = new IllegalStateException("database down");
+		when(repository.findByIdIn(anyCollection())).thenThrow(failure);
+
+		CompletableFuture<Question> first = loader.load(1);
+		CompletableFuture<Question> second = loader.load(2);
+
+		assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+		assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+
+		doReturn(List.of(question(1))).when(repository).findByIdIn(anyCollection());
+		assertEquals(1, loader.load(1).join().getId()); // A failed load is not cached
+	}
+
+	@Test
+	void fullBatchIsQueriedWithoutWaitingForTheWindow() {
+		QuestionLoader smallBatches = new QuestionLoader(repository, meterRegistry, true, 60_000, 2, 1);
+		try {
+			when(repository.findByIdIn(anyCollection())).thenReturn(List.of(question(1), question(2)));
+
+			CompletableFuture<Question> first = smallBatches.load(1);
+			CompletableFuture<Question> second = smallBatches.load(2);
+
+			assertEquals(1, first.orTimeout(5, TimeUnit.SECONDS).join().getId());
+			assertEquals(2, second.orTimeout(5, TimeUnit.SECONDS).join().getId());
+		} finally {
+			smallBatches.shutdown();
+		}
+	}
+
+	private static Question question(int id) {
+		return new Question(id, "Java", "Easy", "a", "b", "c", "d", "Question " + id, "a");
+	}
+}
@@ -0,0 +1,95 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class QuestionExportServiceTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private QuestionExportService exportService;
+
+	@BeforeEach
+	void createDatabase() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:export-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE question (id INT PRIMARY KEY, category VARCHAR(255), "
+				+ "difficulty VARCHAR(255), option1 VARCHAR(255), option2 VARCHAR(255), option3 VARCHAR(255), "
+				+ "option4 VARCHAR(255), question_title VARCHAR(255), correct_answer VARCHAR(255))");
+		// Inserted out of id order, so the export's ORDER BY is what puts them in order
+		insert(jdbcTemplate, 3, "Java");
+		insert(jdbcTemplate, 1, "Java");
+		insert(jdbcTemplate, 2, "Python");
+		exportService = new QuestionExportService(jdbcTemplate, mock(QuestionRepository.class), objectMapper, 2);
+	}
+
+	@Test
+	void jsonExportIsOneArrayInIdOrder() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportAll(out, false);
+
+		List<Question> questions = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {});
+		assertEquals(List.of(1, 2, 3), questions.stream().map(Question::getId).toList());
+		assertEquals(new Question(2, "Python", "Easy", "a", "b", "c", "d", "Question 2", "a"), questions.get(1));
+	}
+
+	@Test
+	void ndjsonExportWritesOneObjectPerLine() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportAll(out, true);
+
+		String body = out.toString(StandardCharsets.UTF_8);
+		assertTrue(body.endsWith("\n"));
+		List<Question> questions = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			questions.add(objectMapper.readValue(line, Question.class));
+		}
+		assertEquals(List.of(1, 2, 3), questions.stream().map(Question::getId).toList());
+	}
+
+	@Test
+	void categoryExportOnlyWritesThatCategory() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportCategory("Java", out, false);
+
+		List<Question> questions = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {});
+		assertEquals(List.of(1, 3), questions.stream().map(Question::getId).toList());
+	}
+
+	@Test
+	void emptyExportsAreStillValidOutput() {
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+
+		exportService.exportCategory("Go", json, false);
+		exportService.exportCategory("Go", ndjson, true);
+
+		assertEquals("[]", json.toString(StandardCharsets.UTF_8));
+		assertEquals("", ndjson.toString(StandardCharsets.UTF_8));
+	}
+
+	private static void insert(JdbcTemplate jdbcTemplate, int id, String category) {
+		jdbcTemplate.update("INSERT INTO question VALUES (?, ?, 'Easy', 'a', 'b', 'c', 'd', ?, 'a')",
+				id, category, "Question " + id);
+	}
+}
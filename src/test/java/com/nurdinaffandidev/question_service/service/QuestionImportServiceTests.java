@@ -0,0 +1,63 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nurdinaffandidev.question_service.catalog.CatalogChangeLog;
+import com.nurdinaffandidev.question_service.model.ImportReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class QuestionImportServiceTests {
+
+	private JdbcTemplate jdbcTemplate;
+
+	private QuestionImportService importService;
+
+	@BeforeEach
+	void createDatabase() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:import-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		// The CHECK constraint lets one row pass validation but fail in the database
+		jdbcTemplate.execute("CREATE TABLE question (id INT AUTO_INCREMENT PRIMARY KEY, "
+				+ "category VARCHAR(255) CHECK (category <> 'Rejected'), difficulty VARCHAR(255), "
+				+ "option1 VARCHAR(255), option2 VARCHAR(255), option3 VARCHAR(255), option4 VARCHAR(255), "
+				+ "question_title VARCHAR(255), correct_answer VARCHAR(255))");
+		importService = new QuestionImportService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+				new ObjectMapper(), List.of(), mock(CatalogChangeLog.class), 4, 100);
+	}
+
+	@Test
+	void batchWithARejectedRowImportsEveryOtherRowOnce() {
+		ImportReport report = importNdjson("Java", "Java", "Rejected", "Java", "Python", "Python");
+
+		assertEquals(6, report.getRowsRead());
+		assertEquals(5, report.getRowsImported());
+		assertEquals(1, report.getRowsRejected());
+		assertEquals(3, report.getErrors().get(0).getRow());
+		assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM question", Integer.class));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM question WHERE question_title = 'Question 1'", Integer.class));
+	}
+
+	private ImportReport importNdjson(String... categories) {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < categories.length; i++) {
+			body.append("{\"category\":\"").append(categories[i]).append("\",\"difficulty\":\"Easy\",")
+					.append("\"option1\":\"a\",\"option2\":\"b\",\"option3\":\"c\",\"option4\":\"d\",")
+					.append("\"questionTitle\":\"Question ").append(i + 1).append("\",\"correctAnswer\":\"a\"}\n");
+		}
+		return importService.importQuestions(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+				QuestionImportService.APPLICATION_NDJSON);
+	}
+}
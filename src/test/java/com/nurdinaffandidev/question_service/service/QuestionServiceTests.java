@@ -0,0 +1,317 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.catalog.CatalogChangeLog;
+import com.nurdinaffandidev.question_service.catalog.CatalogSnapshotStore;
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import com.nurdinaffandidev.question_service.catalog.QuestionChangeListener;
+import com.nurdinaffandidev.question_service.catalog.QuestionSampler;
+import com.nurdinaffandidev.question_service.exception.CategoryNotFoundException;
+import com.nurdinaffandidev.question_service.exception.InsufficientQuestionsException;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import com.nurdinaffandidev.question_service.execution.RequestExecutor;
+import com.nurdinaffandidev.question_service.model.BatchResult;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuestionPage;
+import com.nurdinaffandidev.question_service.model.QuestionWrapper;
+import com.nurdinaffandidev.question_service.model.QuizMixRequest;
+import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.repository.QuestionLoader;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionServiceTests {
+
+	private final QuestionRepository repository = mock(QuestionRepository.class);
+
+	private final CatalogChangeLog changeLog = mock(CatalogChangeLog.class);
+
+	private final QuestionChangeListener listener = mock(QuestionChangeListener.class);
+
+	private final QuestionService service = new QuestionService(repository, null, null, null, null, null, null,
+			changeLog, null, null, List.of(listener), 500, "fail", 1000);
+
+	private final Question question = new Question(1, "Java", "Easy", "a", "b", "c", "d", "Title", "a");
+
+	@BeforeEach
+	void beginTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void endTransaction() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void listenersHearOfWritesOnlyAfterCommit() {
+		when(repository.save(any())).thenReturn(question);
+		when(repository.findById(1)).thenReturn(Optional.of(question));
+
+		service.addQuestion(question);
+		service.deleteQuestion(1);
+		verify(changeLog).recordSaved(question);
+		verify(changeLog).recordDeleted(question);
+		verify(listener, never()).onQuestionSaved(any());
+		verify(listener, never()).onQuestionDeleted(any());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(listener).onQuestionSaved(question);
+		verify(listener).onQuestionDeleted(question);
+	}
+
+	@Test
+	void rolledBackWritesAreNeverSeenByListeners() {
+		when(repository.save(any())).thenReturn(question);
+
+		service.addQuestion(question);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		verify(listener, never()).onQuestionSaved(any());
+	}
+
+	@Test
+	void scoringDoesNotWriteLoadedQuestionsIntoTheAnswerKey() {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		catalog.put(question);
+		AnswerKeyIndex answerKeyIndex = new AnswerKeyIndex(repository, catalog, true);
+		answerKeyIndex.reload();
+		QuestionService scoring = new QuestionService(repository, catalog, null, answerKeyIndex, null,
+				mock(QuestionLoader.class), null, changeLog, null, mock(RequestExecutor.class), List.of(listener),
+				500, "fail", 1000);
+		// Question 5 was loaded from the database, e.g. just before a delete of it committed
+		when(repository.findByIdIn(anyCollection()))
+				.thenReturn(List.of(new Question(5, "Java", "Easy", "a", "b", "c", "d", "Other", "b")));
+
+		assertEquals(2, scoring.getScore(List.of(response(1, "a"), response(5, "b"))));
+		assertFalse(answerKeyIndex.contains(5));
+	}
+
+	@Test
+	void repeatedMixBucketsAreMergedWithoutRepeatingIds() {
+		QuestionService mix = mixService();
+
+		List<Integer> ids = mix.generateQuestionIdsByMix(mixRequest(false,
+				bucket("Java", "Easy", 2), bucket("Java", "Hard", 1), bucket("Java", "Easy", 1)));
+
+		assertEquals(4, ids.size());
+		assertEquals(Set.of(1, 2, 3), new HashSet<>(ids.subList(0, 3))); // Both Java/Easy buckets, drawn once
+		assertEquals(4, ids.get(3));
+	}
+
+	@Test
+	void shortMixBucketsAreAllReported() {
+		QuestionService mix = mixService();
+
+		InsufficientQuestionsException exception = assertThrows(InsufficientQuestionsException.class,
+				() -> mix.generateQuestionIdsByMix(mixRequest(false,
+						bucket("Java", "Hard", 2), bucket("Java", "Easy", 1), bucket("Python", "Easy", 3))));
+
+		assertEquals("Not enough questions for: Java/Hard (requested 2, available 1), "
+				+ "Python/Easy (requested 3, available 1)", exception.getMessage());
+	}
+
+	@Test
+	void partialMixTakesWhatShortBucketsHave() {
+		QuestionService mix = mixService();
+
+		List<Integer> ids = mix.generateQuestionIdsByMix(mixRequest(true,
+				bucket("Java", "Hard", 2), bucket("Java", "Easy", 1), bucket("Python", "Easy", 3)));
+
+		assertEquals(3, ids.size());
+		assertEquals(4, ids.get(0));
+		assertTrue(Set.of(1, 2, 3).contains(ids.get(1)));
+		assertEquals(5, ids.get(2));
+	}
+
+	@Test
+	void wrapperLookupsKeepRequestOrderAndQueryEachIdOnce() {
+		List<List<Integer>> chunks = new ArrayList<>();
+		QuestionService batch = batchService("fail", chunks);
+
+		List<QuestionWrapper> wrappers = batch.getWrapperQuestions(List.of(4, 1, 2, 4, 5, 3)).getItems();
+
+		assertEquals(List.of(4, 1, 2, 4, 5, 3), wrappers.stream().map(QuestionWrapper::getQuestionId).toList());
+		assertEquals("Four", wrappers.get(0).getQuestionTitle());
+		assertEquals("One", wrappers.get(1).getQuestionTitle()); // Served from the catalog
+		assertEquals(List.of(List.of(4, 2), List.of(5, 3)), chunks);
+	}
+
+	@Test
+	void failPolicyReportsEveryMissingId() {
+		List<List<Integer>> chunks = new ArrayList<>();
+		QuestionService batch = batchService("fail", chunks);
+
+		QuestionsNotFoundException exception = assertThrows(QuestionsNotFoundException.class,
+				() -> batch.getWrapperQuestions(List.of(2, 9, 1, 8, 9)));
+
+		assertEquals(List.of(9, 8), exception.getMissingIds());
+		assertEquals(List.of(List.of(2, 9), List.of(8)), chunks);
+	}
+
+	@Test
+	void partialPolicyReturnsWhatWasFoundWithTheMissingIds() {
+		QuestionService batch = batchService("partial", new ArrayList<>());
+
+		BatchResult<QuestionWrapper> result = batch.getWrapperQuestions(List.of(2, 9, 1, 8, 9));
+
+		assertEquals(List.of(2, 1), result.getItems().stream().map(QuestionWrapper::getQuestionId).toList());
+		assertEquals(List.of(9, 8, 9), result.getMissingIds());
+		assertFalse(result.isComplete());
+	}
+
+	@Test
+	void pagesFollowTheCursorUntilTheLookAheadRowRunsOut() {
+		QuestionService pages = pageService(1000);
+
+		QuestionPage first = pages.getQuestionPage(0, 2);
+		QuestionPage second = pages.getQuestionPage(first.getNextCursor(), 2);
+		QuestionPage last = pages.getQuestionPage(second.getNextCursor(), 2);
+
+		assertEquals(List.of(1, 2), ids(first));
+		assertEquals(2, first.getNextCursor());
+		assertEquals(List.of(3, 4), ids(second));
+		assertEquals(4, second.getNextCursor());
+		assertEquals(List.of(5), ids(last));
+		assertNull(last.getNextCursor());
+		verify(repository).findByIdGreaterThanOrderByIdAsc(0, Limit.of(3)); // One look-ahead row
+	}
+
+	@Test
+	void pageThatEndsExactlyAtTheLastRowHasNoCursor() {
+		QuestionPage page = pageService(1000).getQuestionPage(3, 2);
+
+		assertEquals(List.of(4, 5), ids(page));
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void pageSizeIsCappedAtTheMaximum() {
+		QuestionPage page = pageService(3).getQuestionPage(0, 100);
+
+		assertEquals(List.of(1, 2, 3), ids(page));
+		assertEquals(3, page.getNextCursor());
+		verify(repository).findByIdGreaterThanOrderByIdAsc(0, Limit.of(4));
+	}
+
+	@Test
+	void onlyAnEmptyFirstCategoryPageIsNotFound() {
+		QuestionService pages = pageService(1000);
+
+		assertThrows(CategoryNotFoundException.class, () -> pages.getQuestionPageByCategory("Go", 0, 2));
+		QuestionPage afterLast = pages.getQuestionPageByCategory("Java", 5, 2);
+		assertTrue(afterLast.getItems().isEmpty());
+		assertNull(afterLast.getNextCursor());
+
+		QuestionPage java = pages.getQuestionPageByCategory("Java", 0, 2);
+		assertEquals(List.of(1, 3), ids(java));
+		assertEquals(3, java.getNextCursor());
+	}
+
+	private QuestionService mixService() {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		catalog.put(new Question(1, "Java", "Easy", "a", "b", "c", "d", "One", "a"));
+		catalog.put(new Question(2, "Java", "Easy", "a", "b", "c", "d", "Two", "a"));
+		catalog.put(new Question(3, "Java", "Easy", "a", "b", "c", "d", "Three", "a"));
+		catalog.put(new Question(4, "Java", "Hard", "a", "b", "c", "d", "Four", "a"));
+		catalog.put(new Question(5, "Python", "Easy", "a", "b", "c", "d", "Five", "a"));
+		return new QuestionService(repository, catalog, new QuestionSampler(catalog, "memory", 7L), null, null,
+				null, null, changeLog, null, null, List.of(listener), 500, "fail", 1000);
+	}
+
+	/**
+	 * Question 1 is in the catalog and questions 2 to 5 only in the database; every IN query's ids are
+	 * added to {@code chunks}.
+	 */
+	private QuestionService batchService(String missingIdsPolicy, List<List<Integer>> chunks) {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		catalog.put(new Question(1, "Java", "Easy", "a", "b", "c", "d", "One", "a"));
+		List<String> titles = List.of("Two", "Three", "Four", "Five");
+		when(repository.findWrappersByIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<Integer> ids = invocation.getArgument(0);
+			chunks.add(new ArrayList<>(ids));
+			return ids.stream()
+					.filter(id -> id >= 2 && id <= 5)
+					.map(id -> new QuestionWrapper(id, "a", "b", "c", "d", titles.get(id - 2)))
+					.toList();
+		});
+		return new QuestionService(repository, catalog, null, null, null, mock(QuestionLoader.class), null,
+				changeLog, null, null, List.of(listener), 2, missingIdsPolicy, 1000);
+	}
+
+	/**
+	 * Questions 1 to 5 in the database, odd ids in Java and even ids in Python.
+	 */
+	private QuestionService pageService(int maxPageSize) {
+		List<Question> rows = new ArrayList<>();
+		for (int id = 1; id <= 5; id++) {
+			rows.add(new Question(id, id % 2 == 1 ? "Java" : "Python", "Easy", "a", "b", "c", "d", "Q" + id, "a"));
+		}
+		when(repository.findByIdGreaterThanOrderByIdAsc(anyInt(), any())).thenAnswer(invocation ->
+				page(rows, null, invocation.getArgument(0), invocation.getArgument(1)));
+		when(repository.findByCategoryAndIdGreaterThanOrderByIdAsc(any(), anyInt(), any())).thenAnswer(invocation ->
+				page(rows, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+		return new QuestionService(repository, null, null, null, null, null, null, changeLog, null, null,
+				List.of(listener), 500, "fail", maxPageSize);
+	}
+
+	private static List<Question> page(List<Question> rows, String category, int afterId, Limit limit) {
+		return rows.stream()
+				.filter(row -> category == null || category.equals(row.getCategory()))
+				.filter(row -> row.getId() > afterId)
+				.limit(limit.max())
+				.toList();
+	}
+
+	private static List<Integer> ids(QuestionPage page) {
+		return page.getItems().stream().map(Question::getId).toList();
+	}
+
+	private static QuizMixRequest mixRequest(boolean allowPartial, QuizMixRequest.Bucket... buckets) {
+		QuizMixRequest request = new QuizMixRequest();
+		request.setBuckets(List.of(buckets));
+		request.setAllowPartial(allowPartial);
+		return request;
+	}
+
+	private static QuizMixRequest.Bucket bucket(String category, String difficulty, int count) {
+		QuizMixRequest.Bucket bucket = new QuizMixRequest.Bucket();
+		bucket.setCategory(category);
+		bucket.setDifficulty(difficulty);
+		bucket.setCount(count);
+		return bucket;
+	}
+
+	private static QuizResponse response(int questionId, String answer) {
+		QuizResponse response = new QuizResponse();
+		response.setQuestionId(questionId);
+		response.setResponse(answer);
+		return response;
+	}
+}
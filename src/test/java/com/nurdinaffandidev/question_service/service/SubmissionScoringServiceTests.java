@@ -0,0 +1,120 @@
+package com.nurdinaffandidev.question_service.service;
+
+import com.nurdinaffandidev.question_service.catalog.AnswerKeyIndex;
+import com.nurdinaffandidev.question_service.catalog.CatalogSnapshotStore;
+import com.nurdinaffandidev.question_service.catalog.QuestionCatalog;
+import com.nurdinaffandidev.question_service.exception.QuestionsNotFoundException;
+import com.nurdinaffandidev.question_service.model.AnswerKey;
+import com.nurdinaffandidev.question_service.model.Question;
+import com.nurdinaffandidev.question_service.model.QuizResponse;
+import com.nurdinaffandidev.question_service.model.QuizSubmission;
+import com.nurdinaffandidev.question_service.model.SubmissionScore;
+import com.nurdinaffandidev.question_service.repository.QuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionScoringServiceTests {
+
+	private final QuestionRepository repository = mock(QuestionRepository.class);
+
+	private AnswerKeyIndex answerKeyIndex;
+
+	private SubmissionScoringService scoringService;
+
+	@BeforeEach
+	void createService() {
+		QuestionCatalog catalog = new QuestionCatalog(null, new CatalogSnapshotStore(false, "unused.bin", 0), true);
+		catalog.put(question(1, "a"));
+		catalog.put(question(2, "b"));
+		answerKeyIndex = new AnswerKeyIndex(repository, catalog, true);
+		answerKeyIndex.reload();
+		scoringService = new SubmissionScoringService(answerKeyIndex, repository, 1, 1_000, 500);
+	}
+
+	@AfterEach
+	void shutdown() {
+		scoringService.shutdown();
+	}
+
+	@Test
+	void deleteDuringScoringDoesNotFailTheBatch() {
+		// Question 1 is deleted while the answers of unindexed question 99 are being loaded
+		when(repository.findAnswerKeysByIdIn(anyCollection())).thenAnswer(invocation -> {
+			answerKeyIndex.onQuestionDeleted(question(1, "a"));
+			return List.of(answerKey(99, "z"));
+		});
+
+		List<SubmissionScore> scores = scoringService.scoreSubmissions(List.of(
+				submission("first", 1, "a", 99, "z"),
+				submission("second", 2, "x", 1, "a")));
+
+		assertEquals(2, scores.get(0).getScore());
+		assertEquals(List.of(false, true), scores.get(1).getCorrect());
+	}
+
+	@Test
+	void unknownQuestionsAreReportedTogether() {
+		when(repository.findAnswerKeysByIdIn(anyCollection())).thenReturn(List.of(answerKey(99, "z")));
+
+		QuestionsNotFoundException exception = assertThrows(QuestionsNotFoundException.class,
+				() -> scoringService.scoreSubmissions(List.of(
+						submission("first", 7, "a", 99, "z"),
+						submission("second", 8, "a", 7, "a"))));
+
+		assertEquals(List.of(7, 8), exception.getMissingIds());
+	}
+
+	@Test
+	void submissionWithoutResponsesScoresZero() {
+		QuizSubmission empty = new QuizSubmission();
+		empty.setSubmissionKey("empty");
+
+		List<SubmissionScore> scores = scoringService.scoreSubmissions(List.of(empty, submission("full", 2, "b")));
+
+		assertEquals(0, scores.get(0).getScore());
+		assertEquals(List.of(), scores.get(0).getCorrect());
+		assertEquals(1, scores.get(1).getScore());
+	}
+
+	private static QuizSubmission submission(String key, Object... idsAndAnswers) {
+		List<QuizResponse> responses = new ArrayList<>();
+		for (int i = 0; i < idsAndAnswers.length; i += 2) {
+			QuizResponse response = new QuizResponse();
+			response.setQuestionId((Integer) idsAndAnswers[i]);
+			response.setResponse((String) idsAndAnswers[i + 1]);
+			responses.add(response);
+		}
+		QuizSubmission submission = new QuizSubmission();
+		submission.setSubmissionKey(key);
+		submission.setResponses(responses);
+		return submission;
+	}
+
+	private static Question question(int id, String correctAnswer) {
+		return new Question(id, "Java", "Easy", "a", "b", "c", "d", "Question " + id, correctAnswer);
+	}
+
+	private static AnswerKey answerKey(int id, String correctAnswer) {
+		return new AnswerKey() {
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public String getCorrectAnswer() {
+				return correctAnswer;
+			}
+		};
+	}
+}